@@ -0,0 +1,107 @@
+package org.openapitools.codegen.phpadaptive;
+
+import org.openapitools.codegen.phpcommon.SplitMarkerWriter;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Renders templates on a pool of worker threads, ahead of the core's file loops.
+ *
+ * Renders only produce content: the core still writes every file, in its own order and
+ * through its ignore file, dry run and FILES handling. PhpAdaptiveTemplatingEngine hands
+ * the core the content rendered here (see {@link PhpAdaptiveTemplatingEngine#prerender}),
+ * and a failed render is reported by the core as the failure of that file.
+ *
+ * Usage: render(...) for each file; close() when generation is done.
+ */
+public class ParallelRenderer implements AutoCloseable {
+
+    private final ExecutorService pool;
+    private final Mustache.Compiler compiler;
+    private final Function<String, String> templateReader;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param compiler       compiler configured like the generator's Mustache engine
+     * @param templateReader template name to source, or null if not found
+     */
+    public ParallelRenderer(int parallelism, Mustache.Compiler compiler, Function<String, String> templateReader) {
+        this.pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "php-adaptive-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.templateReader = templateReader;
+        this.compiler = compiler
+            .withLoader(name -> new StringReader(readTemplate(name.endsWith(".mustache") ? name : name + ".mustache")))
+            .defaultValue("");
+    }
+
+    /**
+     * Start rendering templateName with data on a worker thread
+     */
+    public Future<String> render(String templateName, Map<String, Object> data) {
+        return pool.submit(() -> getTemplate(templateName).execute(data));
+    }
+
+    /**
+     * Write each ---SPLIT:name--- section of content to its own file in the directory of
+     * combined; content without a complete marker is written to combined as is.
+     *
+     * @return the files written
+     */
+    public static List<File> writeSections(File combined, String content) throws IOException {
+        File dir = combined.getAbsoluteFile().getParentFile();
+        List<File> written = new ArrayList<>();
+        SplitMarkerWriter writer = new SplitMarkerWriter((name, section) -> {
+            File target = new File(dir, name);
+            Files.createDirectories(dir.toPath());
+            Files.write(target.toPath(), section.getBytes(StandardCharsets.UTF_8));
+            written.add(target);
+        });
+        writer.append(content);
+        writer.close();
+
+        if (!writer.hasSplit()) {
+            Files.createDirectories(dir.toPath());
+            Files.write(combined.toPath(), content.getBytes(StandardCharsets.UTF_8));
+            written.add(combined);
+        }
+        return written;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private Template getTemplate(String templateName) {
+        return templates.computeIfAbsent(templateName, name -> {
+            String source = templateReader.apply(name);
+            if (source == null) {
+                throw new IllegalStateException("Template not found: " + name);
+            }
+            return compiler.compile(source);
+        });
+    }
+
+    private String readTemplate(String name) {
+        String source = templateReader.apply(name);
+        return source != null ? source : "";
+    }
+}
@@ -1,9 +1,21 @@
 package org.openapitools.codegen.phpadaptive;
 
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.languages.AbstractPhpCodegen;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.phpcommon.BatchPostProcessor;
+import org.openapitools.codegen.phpcommon.NamingCache;
+import org.openapitools.codegen.phpcommon.OperationCondition;
+import org.openapitools.codegen.phpcommon.SplitMarkerWriter;
+import org.openapitools.codegen.phpcommon.TemplateContext;
+import org.openapitools.codegen.phpcommon.TemplateIndex;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 import org.slf4j.Logger;
@@ -43,6 +55,17 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
     public static final String REQUEST_PACKAGE = "requestPackage";
     public static final String RESPONSE_PACKAGE = "responsePackage";
     public static final String SRC_BASE_PATH = "srcBasePath";
+    public static final String RENDER_PARALLELISM = "renderParallelism";
+    public static final String SPLIT_MARKERS = "splitMarkers";
+    public static final String BATCH_POST_PROCESS = "batchPostProcess";
+    public static final String POST_PROCESS_BATCH_SIZE = "postProcessBatchSize";
+    public static final String POST_PROCESS_PARALLELISM = "postProcessParallelism";
+
+    // Operation vendor extension: true if a request class is generated for the operation
+    public static final String HAS_REQUEST_CLASS = "x-has-request-class";
+
+    // Operations that get a request class: it validates the body and the query parameters
+    public static final String REQUEST_CONDITION = "hasBodyParam || hasQueryParams";
 
     // Configurable namespaces
     protected String controllerPackage;
@@ -51,6 +74,31 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
     protected String responsePackage;
     protected String srcBasePath = "lib";
 
+    // Parallel generation: with more than one thread, per-operation and model files are
+    // rendered on a pool ahead of the core's loops, which still write them
+    protected int renderParallelism = 1;
+    protected ParallelRenderer parallelRenderer;
+
+    // Split output at ---SPLIT:name--- markers into one file per section (see SplitMarkerWriter)
+    protected boolean splitMarkers = false;
+
+    // Output path patterns of per-operation templates, by template name
+    protected final Map<String, String> operationTemplatePaths = new LinkedHashMap<>();
+    // Custom and embedded templates of this run, built on first read
+    protected TemplateIndex templateIndex;
+
+    // Conditions of per-operation templates, by template name (templates without one are always rendered)
+    protected final Map<String, OperationCondition> operationTemplateConditions = new HashMap<>();
+
+    // Skips conditional per-operation renders; set up by getTemplatingEngine()
+    protected PhpAdaptiveTemplatingEngine phpAdaptiveTemplatingEngine;
+    // Whether external post-processing was requested (PHP_POST_PROCESS_FILE)
+    protected boolean externalPostProcessFile = false;
+    // Collects files for batched PHP_POST_PROCESS_FILE calls (null = one call per file)
+    protected BatchPostProcessor batchPostProcessor;
+    // Model, API and operation class names already computed in this run
+    protected final NamingCache namingCache = new NamingCache();
+
     public PhpAdaptiveGenerator() {
         super();
 
@@ -71,6 +119,11 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
         cliOptions.add(new CliOption(REQUEST_PACKAGE, "Package for request DTOs"));
         cliOptions.add(new CliOption(RESPONSE_PACKAGE, "Package for response DTOs"));
         cliOptions.add(new CliOption(SRC_BASE_PATH, "Base path for source files (default: lib)"));
+        cliOptions.add(new CliOption(RENDER_PARALLELISM, "Number of threads rendering per-operation and model files (default: 1, core loops)"));
+        cliOptions.add(CliOption.newBoolean(SPLIT_MARKERS, "Split generated files at ---SPLIT:name--- markers into one file per section", false));
+        cliOptions.add(CliOption.newBoolean(BATCH_POST_PROCESS, "Run PHP_POST_PROCESS_FILE once on all generated files (or in batches) instead of once per file", false));
+        cliOptions.add(new CliOption(POST_PROCESS_BATCH_SIZE, "With batchPostProcess, files per post-processor call (default: all files)"));
+        cliOptions.add(new CliOption(POST_PROCESS_PARALLELISM, "With batchPostProcess, post-processor calls running in parallel (default: 1)"));
 
         // Reserve common PHP keywords
         reservedWords.addAll(Arrays.asList(
@@ -128,6 +181,33 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
         additionalProperties.put(REQUEST_PACKAGE, requestPackage);
         additionalProperties.put(RESPONSE_PACKAGE, responsePackage);
 
+        renderParallelism = getConfiguredInt(RENDER_PARALLELISM, 1, 1);
+
+        if (additionalProperties.containsKey(SPLIT_MARKERS)) {
+            splitMarkers = Boolean.parseBoolean(additionalProperties.get(SPLIT_MARKERS).toString().trim());
+        }
+        if (phpAdaptiveTemplatingEngine != null) {
+            phpAdaptiveTemplatingEngine.setSplitMarkers(splitMarkers);
+        }
+
+        // postProcessFile removes the files of skipped per-operation renders; the
+        // external post-processor still only runs if it was enabled
+        externalPostProcessFile = isEnablePostProcessFile();
+        setEnablePostProcessFile(true);
+
+        String postProcessCommand = System.getenv("PHP_POST_PROCESS_FILE");
+        if (externalPostProcessFile && postProcessCommand != null && !postProcessCommand.trim().isEmpty()
+                && additionalProperties.containsKey(BATCH_POST_PROCESS)
+                && Boolean.parseBoolean(additionalProperties.get(BATCH_POST_PROCESS).toString().trim())) {
+            batchPostProcessor = new BatchPostProcessor(postProcessCommand,
+                getConfiguredInt(POST_PROCESS_BATCH_SIZE, 0, 1), getConfiguredInt(POST_PROCESS_PARALLELISM, 1, 1));
+        }
+
+        // Naming options (prefixes, suffixes, mappings) are final from here on
+        namingCache.clear();
+        // The template directory is final too; the index is rebuilt on the first read
+        templateIndex = null;
+
         // Configure per-operation templates using core's operationTemplateFiles() API
         // This is the key feature - uses the fork's per-operation support
         configureOperationTemplates();
@@ -154,25 +234,41 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
      */
     protected void configureOperationTemplates() {
         // Controller: one per operation
-        operationTemplateFiles().put(
+        addOperationTemplate(
             "controller.mustache",
-            srcBasePath + "/Http/Controllers/{{operationIdPascalCase}}Controller.php"
+            srcBasePath + "/Http/Controllers/{{operationIdPascalCase}}Controller.php",
+            null
         );
 
-        // Request DTO: one per operation (for operations with body params)
-        // Note: Template should check hasBodyParam to conditionally generate content
-        operationTemplateFiles().put(
+        // Request: only for operations with a body or query parameters to validate
+        addOperationTemplate(
             "request.mustache",
-            srcBasePath + "/Http/Requests/{{operationIdPascalCase}}Request.php"
+            srcBasePath + "/Http/Requests/{{operationIdPascalCase}}Request.php",
+            REQUEST_CONDITION
         );
 
         // Response: one per operation
-        operationTemplateFiles().put(
+        addOperationTemplate(
             "response.mustache",
-            srcBasePath + "/Http/Responses/{{operationIdPascalCase}}Response.php"
+            srcBasePath + "/Http/Responses/{{operationIdPascalCase}}Response.php",
+            null
         );
     }
 
+    /**
+     * Register a per-operation template with an optional condition (see OperationCondition).
+     * Operations that do not match the condition are never rendered and get no file.
+     */
+    protected void addOperationTemplate(String templateName, String outputPattern, String condition) {
+        operationTemplatePaths.put(templateName, outputPattern);
+        operationTemplateFiles().put(templateName, outputPattern);
+        if (condition != null && !condition.isEmpty()) {
+            operationTemplateConditions.put(templateName, OperationCondition.compile(condition));
+        } else {
+            operationTemplateConditions.remove(templateName);
+        }
+    }
+
     /**
      * Configure per-tag (API) templates.
      * These templates are processed once per API tag.
@@ -206,6 +302,243 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
         supportingFiles.add(new SupportingFile("README.mustache", "", "README.md"));
     }
 
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        if (engine instanceof MustacheEngineAdapter && !(engine instanceof PhpAdaptiveTemplatingEngine)) {
+            phpAdaptiveTemplatingEngine = new PhpAdaptiveTemplatingEngine((MustacheEngineAdapter) engine, operationTemplateConditions);
+            phpAdaptiveTemplatingEngine.setSplitMarkers(splitMarkers);
+            phpAdaptiveTemplatingEngine.setTagPrerenderer(this::prerenderOperationFiles);
+            setTemplatingEngine(phpAdaptiveTemplatingEngine);
+            return phpAdaptiveTemplatingEngine;
+        }
+        return engine;
+    }
+
+    @Override
+    public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        OperationsMap result = super.postProcessOperationsWithModels(objs, allModels);
+
+        // Let controllers fall back to the framework request when no request class is generated
+        OperationCondition requestCondition = operationTemplateConditions.get("request.mustache");
+        for (CodegenOperation op : result.getOperations().getOperation()) {
+            op.vendorExtensions.put(HAS_REQUEST_CLASS, requestCondition == null || requestCondition.test(op));
+        }
+        PhpAdaptiveTemplatingEngine engine = getPrerenderEngine();
+        if (engine != null) {
+            // The core completes the tag's bundle after this returns
+            engine.prerenderOnFirstBundle(result.getOperations().getOperation());
+        }
+        return result;
+    }
+
+    // ============================================================================
+    // PARALLEL GENERATION
+    // ============================================================================
+
+    protected boolean isParallelGeneration() {
+        return renderParallelism > 1;
+    }
+
+    /**
+     * In parallel mode, start rendering all model files, which the core model loop then
+     * writes. Models are skipped by the same rules as the core (schema mappings, aliases).
+     */
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        Map<String, ModelsMap> result = super.postProcessAllModels(objs);
+        PhpAdaptiveTemplatingEngine engine = getPrerenderEngine();
+        if (engine == null || modelTemplateFiles().isEmpty()) {
+            return result;
+        }
+
+        ParallelRenderer renderer = getParallelRenderer();
+        for (Map.Entry<String, ModelsMap> entry : result.entrySet()) {
+            String modelName = entry.getKey();
+            ModelsMap models = entry.getValue();
+            if (schemaMapping().containsKey(modelName)) {
+                continue;
+            }
+            List<ModelMap> modelList = models.getModels();
+            if (modelList != null && !modelList.isEmpty() && modelList.get(0).getModel() != null
+                    && modelList.get(0).getModel().isAlias) {
+                continue;
+            }
+
+            // Put here as well as by the core, so the render sees the bundle the core passes
+            models.put("modelPackage", modelPackage());
+            for (String templateName : modelTemplateFiles().keySet()) {
+                engine.prerender(models, templateName, models, renderer.render(templateName, models));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * In parallel mode, start rendering the per-operation templates of a tag's operations,
+     * which the core operation loop then writes. coreBundle is the core's bundle of another
+     * operation of the tag; each operation's variables are layered over a copy of it.
+     * Operations that do not match a template's condition are not rendered.
+     */
+    protected void prerenderOperationFiles(Map<String, Object> coreBundle, List<CodegenOperation> operations) {
+        PhpAdaptiveTemplatingEngine engine = getPrerenderEngine();
+        if (engine == null) {
+            return;
+        }
+
+        // Copied once per tag: the core may reuse its map for the next operation
+        Map<String, Object> tagData = new HashMap<>(coreBundle);
+        ParallelRenderer renderer = getParallelRenderer();
+        for (CodegenOperation op : operations) {
+            Map<String, Object> data = buildOperationTemplateData(tagData, op);
+            for (String templateName : operationTemplatePaths.keySet()) {
+                OperationCondition condition = operationTemplateConditions.get(templateName);
+                if (condition == null || condition.test(op)) {
+                    engine.prerender(op, templateName, data, renderer.render(templateName, data));
+                }
+            }
+        }
+    }
+
+    /**
+     * Template data of one operation, with the same variables as core per-operation templates.
+     * The operation's values are layered over the tag's data instead of copying it.
+     */
+    protected Map<String, Object> buildOperationTemplateData(Map<String, Object> tagData, CodegenOperation op) {
+        String pascalCase = toModelName(op.operationId);
+        return new TemplateContext(tagData)
+            .with("operation", op)
+            .with("operationId", op.operationId)
+            .with("operationIdPascalCase", pascalCase)
+            .with("operationIdCamelCase", namingCache.camelize(pascalCase, true,
+                name -> org.openapitools.codegen.utils.StringUtils.camelize(name,
+                    org.openapitools.codegen.utils.CamelizeOption.LOWERCASE_FIRST_LETTER)))
+            .with("httpMethod", op.httpMethod)
+            .with("path", op.path)
+            .with("hasBodyParam", op.getHasBodyParam())
+            .with("hasPathParams", op.getHasPathParams())
+            .with("hasQueryParams", op.getHasQueryParams());
+    }
+
+    /**
+     * The engine that takes parallel renders, or null when generating serially
+     */
+    protected PhpAdaptiveTemplatingEngine getPrerenderEngine() {
+        if (!isParallelGeneration()) {
+            return null;
+        }
+        getTemplatingEngine();
+        return phpAdaptiveTemplatingEngine;
+    }
+
+    protected synchronized ParallelRenderer getParallelRenderer() {
+        if (parallelRenderer == null) {
+            TemplatingEngineAdapter engine = getTemplatingEngine();
+            com.samskivert.mustache.Mustache.Compiler compiler = engine instanceof MustacheEngineAdapter
+                ? ((MustacheEngineAdapter) engine).getCompiler()
+                : com.samskivert.mustache.Mustache.compiler();
+            parallelRenderer = new ParallelRenderer(renderParallelism, compiler, this::readTemplate);
+        }
+        return parallelRenderer;
+    }
+
+    /**
+     * Read a template from the custom template directory (-t) or the embedded templates
+     */
+    protected String readTemplate(String templateName) {
+        try {
+            return getTemplateIndex().read(templateName);
+        } catch (IOException e) {
+            LOGGER.warn("Error reading template: " + templateName);
+            return null;
+        }
+    }
+
+    protected synchronized TemplateIndex getTemplateIndex() {
+        if (templateIndex == null) {
+            String customDir = templateDir != null && !templateDir.equals(embeddedTemplateDir) ? templateDir : null;
+            templateIndex = TemplateIndex.build(customDir, embeddedTemplateDir, getClass().getClassLoader());
+        }
+        return templateIndex;
+    }
+
+    /**
+     * Run the external post-processor on files written from split sections
+     */
+    protected void postProcessRenderedFiles(List<File> files, String fileType) {
+        for (File file : files) {
+            externalPostProcess(file, fileType);
+        }
+    }
+
+    /**
+     * Run the external post-processor on a file, or queue it for the batched run
+     */
+    protected void externalPostProcess(File file, String fileType) {
+        if (!externalPostProcessFile) {
+            return;
+        }
+        if (batchPostProcessor != null) {
+            batchPostProcessor.add(file);
+        } else {
+            super.postProcessFile(file, fileType);
+        }
+    }
+
+    @Override
+    public void postProcess() {
+        if (phpAdaptiveTemplatingEngine != null) {
+            phpAdaptiveTemplatingEngine.clearPrerenders();
+            if (isParallelGeneration()) {
+                LOGGER.info("Parallel renders: " + phpAdaptiveTemplatingEngine.getPrerendersUsed() + " used, "
+                    + phpAdaptiveTemplatingEngine.getPrerendersDiscarded() + " rendered again by the core");
+            }
+        }
+        if (parallelRenderer != null) {
+            parallelRenderer.close();
+        }
+        if (batchPostProcessor != null && batchPostProcessor.size() > 0) {
+            int files = batchPostProcessor.size();
+            for (String error : batchPostProcessor.run()) {
+                LOGGER.error(error);
+            }
+            LOGGER.info("Post-processed " + files + " files in " + batchPostProcessor.getInvocations() + " calls");
+        }
+        super.postProcess();
+    }
+
+    /**
+     * Remove the empty files the core created for skipped per-operation renders, and write
+     * the sections of renders with split markers instead of the (empty) combined file.
+     */
+    @Override
+    public void postProcessFile(File file, String fileType) {
+        boolean skipped = phpAdaptiveTemplatingEngine != null && phpAdaptiveTemplatingEngine.takeLastSkipped();
+        String splitRender = phpAdaptiveTemplatingEngine != null ? phpAdaptiveTemplatingEngine.takeLastSplitRender() : null;
+        if (file == null) {
+            return;
+        }
+
+        if (splitRender != null) {
+            file.delete();
+            try {
+                postProcessRenderedFiles(ParallelRenderer.writeSections(file, splitRender), fileType);
+            } catch (IOException e) {
+                LOGGER.error("Error splitting file: " + file.getPath(), e);
+            }
+            return;
+        }
+
+        if (skipped) {
+            if (file.delete()) {
+                LOGGER.debug("Skipped by condition: " + file.getPath());
+            }
+            return;
+        }
+
+        externalPostProcess(file, fileType);
+    }
+
     /**
      * Helper to get configured package or default.
      */
@@ -216,6 +549,29 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
         return defaultValue;
     }
 
+    /**
+     * Helper to get a configured integer option or default.
+     *
+     * @throws IllegalArgumentException naming the option if the value is not an integer
+     *                                  or is below minimum
+     */
+    private int getConfiguredInt(String propertyName, int defaultValue, int minimum) {
+        if (!additionalProperties.containsKey(propertyName)) {
+            return defaultValue;
+        }
+        Object value = additionalProperties.get(propertyName);
+        int parsed;
+        try {
+            parsed = Integer.parseInt(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + propertyName + ": '" + value + "' is not an integer", e);
+        }
+        if (parsed < minimum) {
+            throw new IllegalArgumentException("Invalid value for " + propertyName + ": " + parsed + " (must be at least " + minimum + ")");
+        }
+        return parsed;
+    }
+
     @Override
     public String apiFileFolder() {
         return outputFolder + File.separator + srcBasePath + File.separator + "Api";
@@ -228,11 +584,14 @@ public class PhpAdaptiveGenerator extends AbstractPhpCodegen implements CodegenC
 
     @Override
     public String toApiName(String name) {
-        return org.openapitools.codegen.utils.StringUtils.camelize(sanitizeName(name));
+        return toModelName(name);
     }
 
+    /**
+     * Memoized per run; model names are converted again for every reference to the model
+     */
     @Override
     public String toModelName(String name) {
-        return org.openapitools.codegen.utils.StringUtils.camelize(sanitizeName(name));
+        return namingCache.modelName(name, n -> org.openapitools.codegen.utils.StringUtils.camelize(sanitizeName(n)));
     }
 }
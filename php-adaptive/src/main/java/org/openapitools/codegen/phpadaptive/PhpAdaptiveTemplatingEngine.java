@@ -0,0 +1,253 @@
+package org.openapitools.codegen.phpadaptive;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.phpcommon.OperationCondition;
+import org.openapitools.codegen.phpcommon.SplitMarkerWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mustache engine that applies the conditions of per-operation template registrations.
+ *
+ * The core operationTemplateFiles() loop renders every registered template for every
+ * operation. When a template has a condition and the operation in the bundle does not
+ * match it, the template is not rendered at all: an empty string is returned and the
+ * skip is remembered per thread, so postProcessFile can remove the empty file the core
+ * created for it.
+ *
+ * With split markers enabled, a render containing ---SPLIT: markers is also returned as an
+ * empty string and kept per thread, so postProcessFile writes its sections instead.
+ *
+ * In parallel mode the generator renders model and per-operation files ahead of the core
+ * loops ({@link #prerender}); the core still writes each file, and this engine returns the
+ * content rendered ahead for it. A render is only used if the data it was rendered with has
+ * the same variables as the core's bundle, otherwise the core's bundle is rendered here.
+ * The core only completes a tag's bundle after postProcessOperationsWithModels, so the
+ * per-operation files of a tag are rendered ahead once the core asks for the first of them
+ * ({@link #prerenderOnFirstBundle}), from that bundle.
+ */
+public class PhpAdaptiveTemplatingEngine extends MustacheEngineAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PhpAdaptiveTemplatingEngine.class);
+
+    /**
+     * A render started ahead of the core loop, with the data it was started with
+     */
+    private static final class Prerender {
+        final Map<String, Object> data;
+        final Future<String> content;
+
+        Prerender(Map<String, Object> data, Future<String> content) {
+            this.data = data;
+            this.content = content;
+        }
+    }
+
+    private final Map<String, OperationCondition> operationConditions;
+    private final ThreadLocal<Boolean> lastSkipped = new ThreadLocal<>();
+    private final ThreadLocal<String> lastSplitRender = new ThreadLocal<>();
+    private boolean splitMarkers = false;
+    // Renders started ahead, by operation (per-operation files) or bundle (models), then template
+    private final Map<Object, Map<String, Prerender>> prerenders = Collections.synchronizedMap(new IdentityHashMap<>());
+    private boolean mismatchWarned = false;
+    // Operations of each tag, until the core's first per-operation bundle of the tag is seen
+    private final Map<CodegenOperation, List<CodegenOperation>> waitingTags = Collections.synchronizedMap(new IdentityHashMap<>());
+    private BiConsumer<Map<String, Object>, List<CodegenOperation>> tagPrerenderer;
+    private final AtomicLong prerendersUsed = new AtomicLong();
+    private final AtomicLong prerendersDiscarded = new AtomicLong();
+
+    /**
+     * @param operationConditions conditions by template name, filled in by the generator's processOpts
+     */
+    public PhpAdaptiveTemplatingEngine(MustacheEngineAdapter delegate, Map<String, OperationCondition> operationConditions) {
+        super();
+        setCompiler(delegate.getCompiler());
+        this.operationConditions = operationConditions;
+    }
+
+    @Override
+    public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
+        Object operation = bundle.get("operation");
+        if (operation instanceof CodegenOperation && !waitingTags.isEmpty()) {
+            startWaitingTag((CodegenOperation) operation, bundle);
+        }
+        OperationCondition condition = operationConditions.get(templateFile);
+        if (condition != null) {
+            if (operation instanceof CodegenOperation && !condition.test((CodegenOperation) operation)) {
+                lastSkipped.set(Boolean.TRUE);
+                return "";
+            }
+        }
+        lastSkipped.remove();
+        String content = takePrerender(bundle, templateFile);
+        if (content == null) {
+            content = super.compileTemplate(executor, bundle, templateFile);
+        }
+        if (splitMarkers && SplitMarkerWriter.containsMarker(content)) {
+            lastSplitRender.set(content);
+            return "";
+        }
+        lastSplitRender.remove();
+        return content;
+    }
+
+    /**
+     * Register a render started ahead of the core loop. key is the CodegenOperation of a
+     * per-operation template, or the bundle itself for other templates.
+     */
+    public void prerender(Object key, String templateFile, Map<String, Object> data, Future<String> content) {
+        prerenders.computeIfAbsent(key, k -> new HashMap<>()).put(templateFile, new Prerender(data, content));
+    }
+
+    /**
+     * Render the per-operation files of a tag's operations ahead once the core asks for the
+     * first of them: the prerenderer gets the core's bundle of that operation and the other
+     * operations of the tag.
+     */
+    public void prerenderOnFirstBundle(List<CodegenOperation> operations) {
+        for (CodegenOperation op : operations) {
+            waitingTags.put(op, operations);
+        }
+    }
+
+    public void setTagPrerenderer(BiConsumer<Map<String, Object>, List<CodegenOperation>> tagPrerenderer) {
+        this.tagPrerenderer = tagPrerenderer;
+    }
+
+    private void startWaitingTag(CodegenOperation operation, Map<String, Object> bundle) {
+        List<CodegenOperation> tag = waitingTags.remove(operation);
+        if (tag == null) {
+            return;
+        }
+        List<CodegenOperation> others = new ArrayList<>(tag.size());
+        for (CodegenOperation op : tag) {
+            if (op != operation) {
+                waitingTags.remove(op);
+                others.add(op);
+            }
+        }
+        if (tagPrerenderer != null && !others.isEmpty()) {
+            tagPrerenderer.accept(bundle, others);
+        }
+    }
+
+    /**
+     * Drop renders the core did not ask for (dry run, ignored files)
+     */
+    public void clearPrerenders() {
+        waitingTags.clear();
+        prerenders.values().forEach(renders -> renders.values().forEach(render -> render.content.cancel(true)));
+        prerenders.clear();
+    }
+
+    /**
+     * Renders done ahead that the core used
+     */
+    public long getPrerendersUsed() {
+        return prerendersUsed.get();
+    }
+
+    /**
+     * Renders done ahead whose data did not match the core's bundle, rendered again
+     */
+    public long getPrerendersDiscarded() {
+        return prerendersDiscarded.get();
+    }
+
+    /**
+     * Content rendered ahead for this bundle and template, or null to render it now
+     */
+    private String takePrerender(Map<String, Object> bundle, String templateFile) throws IOException {
+        if (prerenders.isEmpty()) {
+            return null;
+        }
+        Object operation = bundle.get("operation");
+        Object key = operation instanceof CodegenOperation ? operation : bundle;
+        Prerender render;
+        synchronized (prerenders) {
+            Map<String, Prerender> renders = prerenders.get(key);
+            render = renders != null ? renders.remove(templateFile) : null;
+            if (renders != null && renders.isEmpty()) {
+                prerenders.remove(key);
+            }
+        }
+        if (render == null) {
+            return null;
+        }
+        if (render.data != bundle && !sameVariables(bundle, render.data)) {
+            prerendersDiscarded.incrementAndGet();
+            render.content.cancel(true);
+            return null;
+        }
+        prerendersUsed.incrementAndGet();
+
+        try {
+            return render.content.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering " + templateFile, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error rendering " + templateFile, e.getCause());
+        }
+    }
+
+    /**
+     * Whether data has every variable of the core's bundle with the same value: the same
+     * object, or an equal string, number or boolean
+     */
+    private boolean sameVariables(Map<String, Object> bundle, Map<String, Object> data) {
+        for (Map.Entry<String, Object> entry : bundle.entrySet()) {
+            Object expected = entry.getValue();
+            Object actual = data.get(entry.getKey());
+            boolean same = expected == actual || (actual != null && data.containsKey(entry.getKey())
+                && (expected instanceof String || expected instanceof Number || expected instanceof Boolean)
+                && expected.equals(actual));
+            if (!same) {
+                if (!mismatchWarned) {
+                    mismatchWarned = true;
+                    LOGGER.warn("Parallel render data differs from the core bundle in '" + entry.getKey()
+                        + "'; rendering these files serially");
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void setSplitMarkers(boolean splitMarkers) {
+        this.splitMarkers = splitMarkers;
+    }
+
+    /**
+     * Take the last render on this thread that has split markers, or null; resets it.
+     */
+    public String takeLastSplitRender() {
+        String content = lastSplitRender.get();
+        lastSplitRender.remove();
+        return content;
+    }
+
+    /**
+     * Whether the last template on this thread was skipped by its condition; resets the flag.
+     */
+    public boolean takeLastSkipped() {
+        boolean skipped = Boolean.TRUE.equals(lastSkipped.get());
+        lastSkipped.remove();
+        return skipped;
+    }
+}
@@ -0,0 +1,102 @@
+package org.openapitools.codegen.phpadaptive;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parallel generation must produce exactly the same files as a serial run, written by the
+ * core (ignore file, FILES manifest)
+ */
+public class PhpAdaptiveParallelGenerationTest {
+
+    private static final Path OUTPUT_DIR = Path.of("target/test-generated-parallel");
+    private static final String PETSHOP_SPEC = "src/test/resources/petshop-extended.yaml";
+    private static final Path CONTROLLER = Path.of("lib/Http/Controllers/FindPetsController.php");
+
+    private static Path prepare(String name) throws IOException {
+        Path outputDir = OUTPUT_DIR.resolve(name);
+        if (Files.exists(outputDir)) {
+            try (Stream<Path> paths = Files.walk(outputDir)) {
+                for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(p);
+                }
+            }
+        }
+        Files.createDirectories(outputDir);
+        return outputDir;
+    }
+
+    private static PhpAdaptiveGenerator generate(Path outputDir, int parallelism) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName(PhpAdaptiveGenerator.GENERATOR_NAME)
+                .setInputSpec(PETSHOP_SPEC)
+                .setOutputDir(outputDir.toString())
+                .addAdditionalProperty(PhpAdaptiveGenerator.RENDER_PARALLELISM, parallelism);
+
+        ClientOptInput input = configurator.toClientOptInput();
+        new DefaultGenerator().opts(input).generate();
+        return (PhpAdaptiveGenerator) input.getConfig();
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(directory::relativize)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testParallelOutputMatchesSerialOutput() throws IOException {
+        Path serial = prepare("serial");
+        generate(serial, 1);
+        Path parallel = prepare("parallel");
+        PhpAdaptiveGenerator generator = generate(parallel, 8);
+
+        List<Path> serialFiles = listFiles(serial);
+        assertTrue(serialFiles.contains(CONTROLLER), "Per-operation files should be generated");
+        assertTrue(serialFiles.contains(Path.of(".openapi-generator/FILES")), "The FILES manifest should be written");
+        assertEquals(serialFiles, listFiles(parallel), "Parallel run should generate the same files");
+
+        for (Path file : serialFiles) {
+            assertArrayEquals(Files.readAllBytes(serial.resolve(file)), Files.readAllBytes(parallel.resolve(file)),
+                    file + " should be byte-for-byte identical");
+        }
+
+        PhpAdaptiveTemplatingEngine engine = generator.phpAdaptiveTemplatingEngine;
+        assertTrue(engine.getPrerendersUsed() > 0, "Files rendered ahead should be used by the core");
+        assertEquals(0, engine.getPrerendersDiscarded(), "Render data should match the core's bundles");
+    }
+
+    @Test
+    public void testParallelGenerationHonoursIgnoreFile() throws IOException {
+        Path parallel = prepare("parallel-ignore");
+        Files.write(parallel.resolve(".openapi-generator-ignore"),
+                (CONTROLLER.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(parallel.resolve(CONTROLLER).getParent());
+        Files.write(parallel.resolve(CONTROLLER), "<?php // hand-written\n".getBytes(StandardCharsets.UTF_8));
+
+        generate(parallel, 8);
+
+        assertEquals("<?php // hand-written\n",
+                new String(Files.readAllBytes(parallel.resolve(CONTROLLER)), StandardCharsets.UTF_8),
+                "Ignored files should not be overwritten");
+        String manifest = new String(Files.readAllBytes(parallel.resolve(".openapi-generator/FILES")), StandardCharsets.UTF_8);
+        assertFalse(manifest.contains(CONTROLLER.toString()), "Ignored files should not be listed in FILES");
+        assertTrue(manifest.contains("lib/Http/Controllers/"), "Other per-operation files should be listed in FILES");
+    }
+}
@@ -0,0 +1,150 @@
+package org.openapitools.codegen.phpcommon;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the external PHP post-processor (PHP_POST_PROCESS_FILE) on many files per process.
+ *
+ * AbstractPhpCodegen starts the command once per generated .php file. Here the files are
+ * collected while generating and passed as arguments once generation is done: all in one
+ * call, or in chunks of batchSize files run on parallelism threads. A chunk is also closed
+ * before its arguments exceed MAX_ARGUMENT_CHARS, to stay below OS command line limits.
+ * Like the core hook, only .php files are post-processed.
+ */
+public class BatchPostProcessor {
+
+    public static final int MAX_ARGUMENT_CHARS = 32_000;
+
+    private final String command;
+    private final int batchSize;
+    private final int parallelism;
+    private final ConcurrentLinkedQueue<File> files = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    /**
+     * @param command     post-processor executable, called with the file paths as arguments
+     * @param batchSize   files per call (0 = all files in one call, up to MAX_ARGUMENT_CHARS)
+     * @param parallelism calls running at the same time
+     */
+    public BatchPostProcessor(String command, int batchSize, int parallelism) {
+        this.command = command;
+        this.batchSize = Math.max(0, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Queue a generated file; files other than .php are ignored. Thread-safe.
+     */
+    public void add(File file) {
+        if (file != null && file.getName().toLowerCase(Locale.ROOT).endsWith(".php")) {
+            files.add(file);
+        }
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    public int getInvocations() {
+        return invocations.get();
+    }
+
+    /**
+     * Split the queued files into the argument lists of the calls; files deleted since they
+     * were queued are left out
+     */
+    List<List<String>> batches() {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        int chars = command.length();
+        for (File file : files) {
+            if (!file.exists()) {
+                continue;
+            }
+            String path = file.getPath();
+            if (!batch.isEmpty() && ((batchSize > 0 && batch.size() >= batchSize)
+                    || chars + path.length() + 1 > MAX_ARGUMENT_CHARS)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                chars = command.length();
+            }
+            batch.add(path);
+            chars += path.length() + 1;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Post-process all queued files and wait for every call. Returns the errors of failed calls.
+     */
+    public List<String> run() {
+        List<List<String>> batches = batches();
+        files.clear();
+        List<String> errors = new ArrayList<>();
+        if (batches.isEmpty()) {
+            return errors;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()));
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (List<String> batch : batches) {
+                results.add(pool.submit(() -> execute(batch)));
+            }
+            for (Future<String> result : results) {
+                try {
+                    String error = result.get();
+                    if (error != null) {
+                        errors.add(error);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add("Interrupted while post-processing files");
+                    break;
+                } catch (Exception e) {
+                    errors.add("Error post-processing files: " + e.getMessage());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return errors;
+    }
+
+    /**
+     * Run the command on one batch; returns an error message or null
+     */
+    private String execute(List<String> paths) throws IOException, InterruptedException {
+        List<String> commandLine = new ArrayList<>(paths.size() + 1);
+        commandLine.add(command);
+        commandLine.addAll(paths);
+
+        Process process = new ProcessBuilder(commandLine).redirectErrorStream(true).start();
+        invocations.incrementAndGet();
+        // Drain the output so a chatty post-processor cannot block on a full pipe
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            return "Post-processor " + command + " exited with " + exitCode + " for " + paths.size()
+                + " files (first: " + paths.get(0) + ")" + (output.isEmpty() ? "" : ": " + output);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,141 @@
+package org.openapitools.codegen.phpcommon;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-run memo of generated names.
+ *
+ * The same operationId or model name goes through toModelName and camelize for the operation
+ * flags, for each per-operation file (template data, classname, file name), for the core's file
+ * names and for the routes; enum values repeat across models. Each distinct input is converted
+ * once per run. The cache is safe for the render worker threads; it must be cleared when the
+ * naming options change (end of processOpts).
+ *
+ * Also holds the enum case name scanner, see {@link #enumCaseName(String)}.
+ */
+public final class NamingCache {
+
+    private final Map<String, String> modelNames = new ConcurrentHashMap<>();
+    private final Map<String, String> camelNames = new ConcurrentHashMap<>();
+    private final Map<String, String> lowerCamelNames = new ConcurrentHashMap<>();
+    private final Map<String, String> enumCaseNames = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public String modelName(String name, UnaryOperator<String> naming) {
+        return lookup(modelNames, name, naming);
+    }
+
+    public String camelize(String name, boolean lowercaseFirst, UnaryOperator<String> naming) {
+        return lookup(lowercaseFirst ? lowerCamelNames : camelNames, name, naming);
+    }
+
+    public String enumCaseName(String value, UnaryOperator<String> naming) {
+        return lookup(enumCaseNames, value, naming);
+    }
+
+    public void clear() {
+        modelNames.clear();
+        camelNames.clear();
+        lowerCamelNames.clear();
+        enumCaseNames.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return modelNames.size() + camelNames.size() + lowerCamelNames.size() + enumCaseNames.size();
+    }
+
+    private String lookup(Map<String, String> names, String name, UnaryOperator<String> naming) {
+        if (name == null) {
+            return naming.apply(null);
+        }
+        String cached = names.get(name);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        // Not computeIfAbsent: a naming function may itself go through this cache
+        misses.incrementAndGet();
+        String computed = naming.apply(name);
+        if (computed != null) {
+            names.putIfAbsent(name, computed);
+        }
+        return computed;
+    }
+
+    /**
+     * Convert an enum value to a PHP enum case name (SCREAMING_SNAKE_CASE) in one pass.
+     *
+     * Numeric values (optional '-', a digit, and no line break after it) become "VALUE_" followed
+     * by the value with every other character replaced by '_'. Otherwise each run of characters
+     * other than ASCII letters and digits becomes a single '_', leading and trailing ones are
+     * dropped, and an empty result becomes "VALUE". Null or empty values become "EMPTY".
+     */
+    public static String enumCaseName(String value) {
+        if (value == null || value.isEmpty()) {
+            return "EMPTY";
+        }
+
+        StringBuilder caseName = new StringBuilder(value.length() + 6);
+        if (isNumeric(value)) {
+            caseName.append("VALUE_");
+            for (int i = 0; i < value.length(); i = value.offsetByCodePoints(i, 1)) {
+                int c = value.codePointAt(i);
+                caseName.append(isAsciiAlphanumeric(c) ? toAsciiUpperCase(c) : '_');
+            }
+            return caseName.toString();
+        }
+
+        boolean separator = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isAsciiAlphanumeric(c)) {
+                if (separator && caseName.length() > 0) {
+                    caseName.append('_');
+                }
+                separator = false;
+                caseName.append(toAsciiUpperCase(c));
+            } else {
+                separator = true;
+            }
+        }
+        return caseName.length() == 0 ? "VALUE" : caseName.toString();
+    }
+
+    /**
+     * Same as value.matches("^-?\\d+.*"): \d is ASCII only and '.' does not match line terminators
+     */
+    private static boolean isNumeric(String value) {
+        int i = value.charAt(0) == '-' ? 1 : 0;
+        if (i >= value.length() || value.charAt(i) < '0' || value.charAt(i) > '9') {
+            return false;
+        }
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiAlphanumeric(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static char toAsciiUpperCase(int c) {
+        return (char) (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c);
+    }
+}
@@ -0,0 +1,261 @@
+package org.openapitools.codegen.phpcommon;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compiled per-operation template condition (files.json "condition").
+ *
+ * A condition is parsed once into a predicate tree; evaluating it reads operation fields
+ * directly and does no string parsing or switching. Expression language:
+ *
+ *   hasBodyParam && !x-internal      flags combined with &&, || and !, grouped with ( )
+ *   isGet || isDelete                HTTP method tests
+ *   hasResponse(201)                 operation declares response code 201
+ *   hasResponse(4xx)                 operation declares any 4xx response
+ *
+ * Flags: hasBodyParam, hasQueryParams, hasPathParams, hasFormParams, hasHeaderParams,
+ * hasParams, hasAuthMethods, isDeprecated, isGet, isPost, isPut, isPatch, isDelete,
+ * isHead, isOptions. Any other name is a vendor extension which must be Boolean.TRUE.
+ */
+public final class OperationCondition implements Predicate<CodegenOperation> {
+
+    /** Condition of templates without one */
+    public static final OperationCondition ALWAYS = new OperationCondition("", op -> true);
+
+    private final String expression;
+    private final Predicate<CodegenOperation> predicate;
+
+    private OperationCondition(String expression, Predicate<CodegenOperation> predicate) {
+        this.expression = expression;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compile a condition expression; null or empty means always.
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static OperationCondition compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            return ALWAYS;
+        }
+        return new OperationCondition(expression, new Parser(expression).parse());
+    }
+
+    @Override
+    public boolean test(CodegenOperation op) {
+        return predicate.test(op);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    // ============================================================================
+    // FLAGS
+    // ============================================================================
+
+    private static Predicate<CodegenOperation> flag(String name) {
+        switch (name) {
+            case "hasBodyParam":
+                return op -> op.bodyParam != null;
+            case "hasQueryParams":
+                return op -> isNotEmpty(op.queryParams);
+            case "hasPathParams":
+                return op -> isNotEmpty(op.pathParams);
+            case "hasFormParams":
+                return op -> isNotEmpty(op.formParams);
+            case "hasHeaderParams":
+                return op -> isNotEmpty(op.headerParams);
+            case "hasParams":
+                return op -> isNotEmpty(op.allParams);
+            case "hasAuthMethods":
+                return op -> op.hasAuthMethods;
+            case "isDeprecated":
+                return op -> op.isDeprecated;
+            case "isGet":
+                return httpMethod("GET");
+            case "isPost":
+                return httpMethod("POST");
+            case "isPut":
+                return httpMethod("PUT");
+            case "isPatch":
+                return httpMethod("PATCH");
+            case "isDelete":
+                return httpMethod("DELETE");
+            case "isHead":
+                return httpMethod("HEAD");
+            case "isOptions":
+                return httpMethod("OPTIONS");
+            default:
+                // Vendor extension, e.g. x-internal
+                return op -> {
+                    Map<String, Object> extensions = op.vendorExtensions;
+                    return extensions != null && Boolean.TRUE.equals(extensions.get(name));
+                };
+        }
+    }
+
+    private static Predicate<CodegenOperation> httpMethod(String method) {
+        return op -> method.equalsIgnoreCase(op.httpMethod);
+    }
+
+    /**
+     * hasResponse(201) or hasResponse(2xx)
+     */
+    private static Predicate<CodegenOperation> response(String code) {
+        if (code.length() == 3 && code.substring(1).equalsIgnoreCase("xx") && code.charAt(0) >= '1' && code.charAt(0) <= '5') {
+            switch (code.charAt(0)) {
+                case '1': return anyResponse(r -> r.is1xx);
+                case '2': return anyResponse(r -> r.is2xx);
+                case '3': return anyResponse(r -> r.is3xx);
+                case '4': return anyResponse(r -> r.is4xx);
+                default: return anyResponse(r -> r.is5xx);
+            }
+        }
+        if ("default".equals(code)) {
+            return anyResponse(r -> r.isDefault);
+        }
+        if (code.length() == 3 && code.chars().allMatch(Character::isDigit)) {
+            return anyResponse(r -> code.equals(r.code));
+        }
+        throw new IllegalArgumentException("Invalid response code '" + code + "', expected e.g. 201, 4xx or default");
+    }
+
+    private static Predicate<CodegenOperation> anyResponse(Predicate<CodegenResponse> test) {
+        return op -> {
+            if (op.responses != null) {
+                for (CodegenResponse response : op.responses) {
+                    if (test.test(response)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        };
+    }
+
+    private static boolean isNotEmpty(Collection<?> collection) {
+        return collection != null && !collection.isEmpty();
+    }
+
+    // ============================================================================
+    // PARSER
+    // ============================================================================
+
+    /**
+     * Recursive descent parser:
+     *   or      := and ('||' and)*
+     *   and     := unary ('&&' unary)*
+     *   unary   := '!' unary | primary
+     *   primary := '(' or ')' | 'hasResponse' '(' code ')' | name
+     */
+    private static final class Parser {
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        Predicate<CodegenOperation> parse() {
+            Predicate<CodegenOperation> result = parseOr();
+            skipWhitespace();
+            if (pos < input.length()) {
+                throw error("Unexpected '" + input.charAt(pos) + "'");
+            }
+            return result;
+        }
+
+        private Predicate<CodegenOperation> parseOr() {
+            Predicate<CodegenOperation> left = parseAnd();
+            while (consume("||")) {
+                left = left.or(parseAnd());
+            }
+            return left;
+        }
+
+        private Predicate<CodegenOperation> parseAnd() {
+            Predicate<CodegenOperation> left = parseUnary();
+            while (consume("&&")) {
+                left = left.and(parseUnary());
+            }
+            return left;
+        }
+
+        private Predicate<CodegenOperation> parseUnary() {
+            if (consume("!")) {
+                return parseUnary().negate();
+            }
+            return parsePrimary();
+        }
+
+        private Predicate<CodegenOperation> parsePrimary() {
+            if (consume("(")) {
+                Predicate<CodegenOperation> inner = parseOr();
+                expect(")");
+                return inner;
+            }
+
+            String name = parseName();
+            if ("hasResponse".equals(name)) {
+                expect("(");
+                String code = parseName();
+                expect(")");
+                return response(code);
+            }
+            return flag(name);
+        }
+
+        private String parseName() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length() && isNameChar(input.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error(pos < input.length() ? "Unexpected '" + input.charAt(pos) + "'" : "Unexpected end of condition");
+            }
+            return input.substring(start, pos);
+        }
+
+        private boolean consume(String token) {
+            skipWhitespace();
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!consume(token)) {
+                throw error("Expected '" + token + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in condition '" + input + "'");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.openapitools.codegen.phpcommon;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer that splits rendered output at ---SPLIT:name--- markers while it is written.
+ *
+ * The text before a marker is one file, named by the marker: a template renders several
+ * classes into one stream and each class ends with the name of its file. Each section is
+ * handed to the sink as soon as its marker has been read, so only the current section is
+ * held in memory. Sections are trimmed and end with a newline; empty sections and text after
+ * the last marker are dropped. Names are the characters up to the closing "---" and cannot
+ * contain '-'. This is the same split the php-laravel-split post-process scripts did.
+ *
+ * Output without any marker is not split: {@link #hasSplit()} is false after close and the
+ * whole output is available from {@link #getUnsplitContent()}.
+ */
+public class SplitMarkerWriter extends Writer {
+
+    public static final String MARKER_START = "---SPLIT:";
+    public static final String MARKER_END = "---";
+
+    /**
+     * Receives the finished sections, in output order
+     */
+    @FunctionalInterface
+    public interface SectionSink {
+        void accept(String name, String content) throws IOException;
+    }
+
+    private final SectionSink sink;
+    private final StringBuilder section = new StringBuilder();
+    private int scanFrom;
+    private int sections;
+    private boolean split;
+    private boolean closed;
+
+    public SplitMarkerWriter(SectionSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Whether the content has at least one marker start
+     */
+    public static boolean containsMarker(CharSequence content) {
+        return content != null && content.toString().contains(MARKER_START);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        section.append(buffer, offset, length);
+        emitSections();
+    }
+
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        section.append(str, offset, offset + length);
+        emitSections();
+    }
+
+    @Override
+    public void flush() {
+        // Sections are emitted as soon as they are complete
+    }
+
+    /**
+     * Drop the text after the last marker (or keep it as the unsplit content if there was none)
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (split) {
+            section.setLength(0);
+        }
+    }
+
+    public boolean hasSplit() {
+        return split;
+    }
+
+    public int getSectionCount() {
+        return sections;
+    }
+
+    /**
+     * The whole output if it had no marker, otherwise null
+     */
+    public String getUnsplitContent() {
+        return split ? null : section.toString();
+    }
+
+    private void emitSections() throws IOException {
+        while (true) {
+            int start = section.indexOf(MARKER_START, scanFrom);
+            if (start < 0) {
+                // A marker start may be cut off at the end of the buffer
+                scanFrom = Math.max(scanFrom, section.length() - MARKER_START.length() + 1);
+                return;
+            }
+
+            int nameStart = start + MARKER_START.length();
+            int nameEnd = nameStart;
+            while (nameEnd < section.length() && section.charAt(nameEnd) != '-') {
+                nameEnd++;
+            }
+            if (nameEnd + MARKER_END.length() > section.length()) {
+                // Name or closing dashes not written yet
+                scanFrom = start;
+                return;
+            }
+            if (nameEnd == nameStart || !MARKER_END.contentEquals(section.subSequence(nameEnd, nameEnd + MARKER_END.length()))) {
+                // Not a marker here; like the regex, try again one character later
+                scanFrom = start + 1;
+                continue;
+            }
+
+            String name = section.substring(nameStart, nameEnd).trim();
+            String content = section.substring(0, start).trim();
+            split = true;
+            if (!name.isEmpty() && !content.isEmpty()) {
+                sink.accept(name, content + "\n");
+                sections++;
+            }
+            section.delete(0, nameEnd + MARKER_END.length());
+            scanFrom = 0;
+        }
+    }
+}
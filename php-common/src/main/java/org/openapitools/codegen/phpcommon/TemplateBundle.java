@@ -0,0 +1,139 @@
+package org.openapitools.codegen.phpcommon;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.MustacheException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Single-resource bundle of the embedded templates, built and validated at build time.
+ *
+ * The build (process-classes) of each generator runs {@link #main(String[])} on its embedded
+ * template directory (src/main/resources/php-max, src/main/resources/php-adaptive): every
+ * .mustache file is parsed, a syntax error fails the build, and all files are written to
+ * {embeddedTemplateDir}/templates.bundle in the jar. At run time the generator loads the
+ * bundle with one resource read instead of listing and reading templates one by one.
+ *
+ * Format: magic, version, count, then per file its name (modified UTF-8), length and UTF-8 bytes.
+ */
+public final class TemplateBundle {
+
+    public static final String FILENAME = "templates.bundle";
+
+    private static final int MAGIC = 0x504D5442; // "PMTB"
+    private static final int VERSION = 1;
+
+    private TemplateBundle() {
+    }
+
+    /**
+     * Usage: TemplateBundle &lt;template dir&gt; &lt;bundle file&gt;
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: TemplateBundle <template dir> <bundle file>");
+        }
+        Path templateDir = Paths.get(args[0]);
+        Path bundleFile = Paths.get(args[1]);
+
+        Map<String, String> templates = readDirectory(templateDir);
+        List<String> errors = validate(templates);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid templates in " + templateDir + ":\n  " + String.join("\n  ", errors));
+        }
+
+        write(templates, bundleFile);
+        System.out.println("Bundled " + templates.size() + " templates into " + bundleFile);
+    }
+
+    /**
+     * Read all files below dir, by '/' separated relative name in name order
+     */
+    public static Map<String, String> readDirectory(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            files = paths.filter(Files::isRegularFile)
+                .filter(path -> !path.getFileName().toString().equals(FILENAME))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        Map<String, String> templates = new LinkedHashMap<>();
+        for (Path file : files) {
+            templates.put(dir.relativize(file).toString().replace('\\', '/'), Files.readString(file, StandardCharsets.UTF_8));
+        }
+        return templates;
+    }
+
+    /**
+     * Parse every .mustache template; returns one message per template that does not compile
+     */
+    public static List<String> validate(Map<String, String> templates) {
+        Mustache.Compiler compiler = Mustache.compiler().withLoader(name -> new StringReader(""));
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, String> template : templates.entrySet()) {
+            if (!template.getKey().endsWith(".mustache")) {
+                continue;
+            }
+            try {
+                compiler.compile(template.getValue());
+            } catch (MustacheException e) {
+                errors.add(template.getKey() + ": " + e.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    public static void write(Map<String, String> templates, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(templates.size());
+            for (Map.Entry<String, String> template : templates.entrySet()) {
+                byte[] content = template.getValue().getBytes(StandardCharsets.UTF_8);
+                out.writeUTF(template.getKey());
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        }
+    }
+
+    /**
+     * Read a bundle; throws IOException if the stream is not a bundle of this version
+     */
+    public static Map<String, String> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Not a template bundle of version " + VERSION);
+        }
+
+        int count = data.readInt();
+        Map<String, String> templates = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = data.readUTF();
+            byte[] content = new byte[data.readInt()];
+            data.readFully(content);
+            templates.put(name, new String(content, StandardCharsets.UTF_8));
+        }
+        return templates;
+    }
+}
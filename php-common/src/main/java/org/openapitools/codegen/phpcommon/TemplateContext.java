@@ -0,0 +1,83 @@
+package org.openapitools.codegen.phpcommon;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only, layered template context for per-operation rendering.
+ *
+ * Lookups resolve in the local (per-operation) layer first and fall back to a shared
+ * global layer (the generator's additionalProperties). Nothing is copied: a context
+ * costs one small local map per render, however large the global layer is.
+ * Mustache only needs containsKey/get; iterating the context builds a merged view on demand.
+ */
+public class TemplateContext extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> local;
+    private final Map<String, Object> global;
+
+    public TemplateContext(Map<String, Object> global) {
+        this(new HashMap<>(64), global);
+    }
+
+    public TemplateContext(Map<String, Object> local, Map<String, Object> global) {
+        this.local = local;
+        this.global = global != null ? global : Collections.emptyMap();
+    }
+
+    /**
+     * Set a value in the local layer. Returns this context for chaining.
+     */
+    public TemplateContext with(String key, Object value) {
+        local.put(key, value);
+        return this;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || global.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = local.get(key);
+        if (value != null || local.containsKey(key)) {
+            return value;
+        }
+        return global.get(key);
+    }
+
+    @Override
+    public int size() {
+        int size = local.size();
+        for (String key : global.keySet()) {
+            if (!local.containsKey(key)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Map<String, Object> merged = new LinkedHashMap<>(global);
+                merged.putAll(local);
+                return Collections.unmodifiableMap(merged).entrySet().iterator();
+            }
+
+            @Override
+            public int size() {
+                return TemplateContext.this.size();
+            }
+        };
+    }
+}
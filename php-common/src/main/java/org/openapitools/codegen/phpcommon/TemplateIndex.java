@@ -0,0 +1,198 @@
+package org.openapitools.codegen.phpcommon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the templates available to a generation run.
+ *
+ * Built once per run from the custom template directory (-t) and the embedded template
+ * resources, with the custom directory taking precedence. Existence checks are
+ * answered from the index without touching the file system or the class loader; reading
+ * a template goes straight to the indexed file or resource.
+ *
+ * When the embedded templates come with a build-time bundle (see TemplateBundle), they are
+ * all loaded from that one resource instead.
+ *
+ * Template names are paths relative to the template directory, with '/' separators.
+ */
+public class TemplateIndex {
+
+    private final String embeddedDir;
+    private final ClassLoader classLoader;
+
+    // name -> file in the custom template directory
+    private final Map<String, Path> customTemplates;
+    // names of embedded templates (null if the embedded resources could not be listed)
+    private final Set<String> embeddedTemplates;
+    // sources of embedded templates loaded from the template bundle (null without a bundle)
+    private final Map<String, String> bundledTemplates;
+    // existence of embedded templates probed on demand when they could not be listed
+    private final Map<String, Boolean> probedEmbedded = new ConcurrentHashMap<>();
+
+    private TemplateIndex(String embeddedDir, ClassLoader classLoader, Map<String, Path> customTemplates,
+                          Set<String> embeddedTemplates, Map<String, String> bundledTemplates) {
+        this.embeddedDir = embeddedDir;
+        this.classLoader = classLoader;
+        this.customTemplates = customTemplates;
+        this.embeddedTemplates = embeddedTemplates;
+        this.bundledTemplates = bundledTemplates;
+    }
+
+    /**
+     * Index the custom template directory (may be null) over the embedded templates.
+     */
+    public static TemplateIndex build(String customDir, String embeddedDir, ClassLoader classLoader) {
+        Path customPath = customDir != null ? Paths.get(customDir) : null;
+        Map<String, String> bundled = readBundle(embeddedDir, classLoader);
+        return new TemplateIndex(embeddedDir, classLoader, listCustomTemplates(customPath),
+            bundled != null ? bundled.keySet() : listEmbeddedTemplates(embeddedDir, classLoader), bundled);
+    }
+
+    /**
+     * Whether the embedded templates were loaded from the build-time bundle
+     */
+    public boolean isBundled() {
+        return bundledTemplates != null;
+    }
+
+    public boolean contains(String name) {
+        return containsCustom(name) || containsEmbedded(name);
+    }
+
+    public boolean containsCustom(String name) {
+        return customTemplates.containsKey(name);
+    }
+
+    public boolean containsEmbedded(String name) {
+        if (embeddedTemplates != null) {
+            return embeddedTemplates.contains(name);
+        }
+        return probedEmbedded.computeIfAbsent(name,
+            n -> classLoader.getResource(embeddedDir + "/" + n) != null);
+    }
+
+    /**
+     * Path of a template in the custom directory, or null
+     */
+    public Path getCustomPath(String name) {
+        return customTemplates.get(name);
+    }
+
+    /**
+     * Source of a template from the custom directory, or else the embedded templates;
+     * null if neither has it
+     */
+    public String read(String name) throws IOException {
+        return containsCustom(name) ? readCustom(name) : readEmbedded(name);
+    }
+
+    public String readCustom(String name) throws IOException {
+        Path path = customTemplates.get(name);
+        return path != null ? Files.readString(path, StandardCharsets.UTF_8) : null;
+    }
+
+    public String readEmbedded(String name) throws IOException {
+        if (bundledTemplates != null) {
+            return bundledTemplates.get(name);
+        }
+        if (!containsEmbedded(name)) {
+            return null;
+        }
+        try (InputStream in = classLoader.getResourceAsStream(embeddedDir + "/" + name)) {
+            return in != null ? new String(in.readAllBytes(), StandardCharsets.UTF_8) : null;
+        }
+    }
+
+    /**
+     * All indexed template names, custom and embedded
+     */
+    public Set<String> getNames() {
+        Set<String> names = new TreeSet<>(customTemplates.keySet());
+        if (embeddedTemplates != null) {
+            names.addAll(embeddedTemplates);
+        }
+        return names;
+    }
+
+    private static Map<String, Path> listCustomTemplates(Path customDir) {
+        if (customDir == null || !Files.isDirectory(customDir)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Path> templates = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(customDir)) {
+            paths.filter(Files::isRegularFile).forEach(path ->
+                templates.put(customDir.relativize(path).toString().replace('\\', '/'), path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list template directory: " + customDir, e);
+        }
+        return templates;
+    }
+
+    private static Map<String, String> readBundle(String embeddedDir, ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(embeddedDir + "/" + TemplateBundle.FILENAME)) {
+            return in != null ? Collections.unmodifiableMap(TemplateBundle.read(in)) : null;
+        } catch (IOException e) {
+            // unreadable bundle: use the individual resources
+            return null;
+        }
+    }
+
+    private static Set<String> listEmbeddedTemplates(String embeddedDir, ClassLoader classLoader) {
+        URL root = classLoader.getResource(embeddedDir);
+        try {
+            if (root != null && "file".equals(root.getProtocol())) {
+                Path rootPath = Paths.get(root.toURI());
+                Set<String> names = new HashSet<>();
+                try (Stream<Path> paths = Files.walk(rootPath)) {
+                    paths.filter(Files::isRegularFile)
+                        .filter(path -> !path.getFileName().toString().equals(TemplateBundle.FILENAME))
+                        .forEach(path -> names.add(rootPath.relativize(path).toString().replace('\\', '/')));
+                }
+                return names;
+            }
+
+            if (root != null && "jar".equals(root.getProtocol())) {
+                JarURLConnection connection = (JarURLConnection) root.openConnection();
+                connection.setUseCaches(false);
+                String prefix = embeddedDir + "/";
+                Set<String> names = new HashSet<>();
+                try (JarFile jar = connection.getJarFile()) {
+                    for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                        JarEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && entry.getName().startsWith(prefix)
+                                && !entry.getName().endsWith("/" + TemplateBundle.FILENAME)) {
+                            names.add(entry.getName().substring(prefix.length()));
+                        }
+                    }
+                }
+                return names;
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            // fall back to probing below
+        }
+
+        // Unknown resource location (e.g. no directory entries or a custom class loader): probe on demand
+        return null;
+    }
+}
@@ -0,0 +1,134 @@
+package org.openapitools.codegen.phpcommon;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Tests for batched PHP_POST_PROCESS_FILE calls
+ */
+public class BatchPostProcessorTest {
+
+    private static Path createTempDir() throws IOException {
+        return Files.createTempDirectory("php-max-post-process");
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static List<File> phpFiles(Path tempDir, int count) throws IOException {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path file = tempDir.resolve("File" + i + ".php");
+            Files.write(file, "<?php\n".getBytes(StandardCharsets.UTF_8));
+            files.add(file.toFile());
+        }
+        return files;
+    }
+
+    /**
+     * Post-processor script that logs one line of arguments per call
+     */
+    private static Path loggingScript(Path tempDir, Path log, int exitCode) throws IOException {
+        Path script = tempDir.resolve("post-process.sh");
+        Files.write(script, ("#!/bin/sh\necho \"$@\" >> '" + log + "'\nexit " + exitCode + "\n").getBytes(StandardCharsets.UTF_8));
+        assertTrue(script.toFile().setExecutable(true));
+        return script;
+    }
+
+    @Test
+    public void testBatchesBySizeAndSkipsOtherFiles() throws IOException {
+        Path tempDir = createTempDir();
+        try {
+            BatchPostProcessor processor = new BatchPostProcessor("fixer", 2, 1);
+            List<File> files = phpFiles(tempDir, 5);
+            for (File file : files) {
+                processor.add(file);
+            }
+            processor.add(tempDir.resolve("README.md").toFile());
+            assertTrue(files.get(4).delete());
+
+            List<List<String>> batches = processor.batches();
+
+            assertEquals(5, processor.size(), "Only .php files are queued");
+            assertEquals(2, batches.size(), "Deleted files are not post-processed");
+            assertEquals(files.get(0).getPath(), batches.get(0).get(0));
+            assertEquals(2, batches.get(1).size());
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    @Test
+    public void testArgumentLengthClosesBatch() throws IOException {
+        Path tempDir = createTempDir();
+        try {
+            BatchPostProcessor processor = new BatchPostProcessor("fixer", 0, 1);
+            List<File> files = phpFiles(tempDir, 1);
+            int count = BatchPostProcessor.MAX_ARGUMENT_CHARS / files.get(0).getPath().length() + 10;
+            for (int i = 0; i < count; i++) {
+                processor.add(files.get(0));
+            }
+
+            List<List<String>> batches = processor.batches();
+
+            assertEquals(2, batches.size());
+            assertEquals(count, batches.get(0).size() + batches.get(1).size());
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    @Test
+    public void testRunCallsCommandOncePerBatch() throws IOException {
+        assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+        Path tempDir = createTempDir();
+        try {
+            Path log = tempDir.resolve("calls.log");
+            BatchPostProcessor processor = new BatchPostProcessor(loggingScript(tempDir, log, 0).toString(), 3, 2);
+            List<File> files = phpFiles(tempDir, 7);
+            files.forEach(processor::add);
+
+            assertTrue(processor.run().isEmpty());
+
+            List<String> calls = Files.readAllLines(log, StandardCharsets.UTF_8);
+            assertEquals(3, calls.size());
+            assertEquals(3, processor.getInvocations());
+            assertEquals(7, String.join(" ", calls).split(" ").length);
+            assertEquals(0, processor.size(), "Files are post-processed once");
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    @Test
+    public void testFailedCallIsReported() throws IOException {
+        assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+        Path tempDir = createTempDir();
+        try {
+            BatchPostProcessor processor = new BatchPostProcessor(loggingScript(tempDir, tempDir.resolve("calls.log"), 3).toString(), 0, 1);
+            phpFiles(tempDir, 2).forEach(processor::add);
+
+            List<String> errors = processor.run();
+
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0).contains("exited with 3"), errors.get(0));
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+}
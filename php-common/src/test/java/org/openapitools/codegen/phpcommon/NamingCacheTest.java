@@ -0,0 +1,77 @@
+package org.openapitools.codegen.phpcommon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-run naming cache and the enum case name scanner
+ */
+public class NamingCacheTest {
+
+    /**
+     * The regex implementation the scanner replaces
+     */
+    private static String regexEnumCaseName(String value) {
+        if (value == null || value.isEmpty()) {
+            return "EMPTY";
+        }
+        if (value.matches("^-?\\d+.*")) {
+            return "VALUE_" + value.replaceAll("[^a-zA-Z0-9]", "_").toUpperCase();
+        }
+        String result = value.replaceAll("[^a-zA-Z0-9]+", "_").toUpperCase();
+        String caseName = result.replaceAll("^_+|_+$", "").replaceAll("_+", "_");
+        return caseName.isEmpty() ? "VALUE" : caseName;
+    }
+
+    @Test
+    public void testNameIsComputedOnce() {
+        NamingCache cache = new NamingCache();
+        AtomicInteger conversions = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("GetUser", cache.modelName("getUser", name -> {
+                conversions.incrementAndGet();
+                return "GetUser";
+            }));
+        }
+
+        assertEquals(1, conversions.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testCamelizeVariantsAreSeparate() {
+        NamingCache cache = new NamingCache();
+
+        assertEquals("GetUser", cache.camelize("get_user", false, name -> "GetUser"));
+        assertEquals("getUser", cache.camelize("get_user", true, name -> "getUser"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testClearDropsNames() {
+        NamingCache cache = new NamingCache();
+
+        cache.modelName("pet", name -> "Pet");
+        cache.clear();
+
+        assertEquals("ModelPet", cache.modelName("pet", name -> "ModelPet"));
+    }
+
+    @Test
+    public void testEnumCaseNameMatchesRegexImplementation() {
+        String[] values = {
+            null, "", "active", "in-progress", "  spaced  out ", "a--b__c", "___", "Ünïcödé",
+            "camelCase", "123", "-42", "1.5e3", "-", "-abc", "9 lives\nmore", "😀 smile", "2😀",
+            "__leading", "trailing__", "x"
+        };
+
+        for (String value : values) {
+            assertEquals(regexEnumCaseName(value), NamingCache.enumCaseName(value), "Value: " + value);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.openapitools.codegen.phpcommon;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for splitting rendered output at ---SPLIT:name--- markers
+ */
+public class SplitMarkerWriterTest {
+
+    private static Map<String, String> split(String content, boolean charByChar) throws IOException {
+        Map<String, String> sections = new LinkedHashMap<>();
+        SplitMarkerWriter writer = new SplitMarkerWriter(sections::put);
+        if (charByChar) {
+            for (char c : content.toCharArray()) {
+                writer.write(c);
+            }
+        } else {
+            writer.write(content);
+        }
+        writer.close();
+        return sections;
+    }
+
+    @Test
+    public void testSplitsAtMarkers() throws IOException {
+        String content = "<?php\nclass A {}\n---SPLIT:A.php---\n<?php\nclass B {}\n---SPLIT:B.php---\n";
+
+        Map<String, String> sections = split(content, false);
+
+        assertEquals(2, sections.size());
+        assertEquals("<?php\nclass A {}\n", sections.get("A.php"));
+        assertEquals("<?php\nclass B {}\n", sections.get("B.php"));
+        assertEquals(sections, split(content, true), "Markers cut across writes must split the same way");
+    }
+
+    @Test
+    public void testOutputWithoutMarkerIsNotSplit() throws IOException {
+        SplitMarkerWriter writer = new SplitMarkerWriter((name, content) -> fail("Nothing to split"));
+        writer.write("<?php\nclass A {}\n---SPLIT:incomplete");
+        writer.close();
+
+        assertFalse(writer.hasSplit());
+        assertEquals("<?php\nclass A {}\n---SPLIT:incomplete", writer.getUnsplitContent());
+    }
+
+    @Test
+    public void testTrailingTextAndEmptySectionsAreDropped() throws IOException {
+        Map<String, String> sections = split("---SPLIT:Empty.php---\n  \n---SPLIT:Blank.php---A\n---SPLIT:A.php---\ntrailing", false);
+
+        assertEquals(1, sections.size());
+        assertEquals("A\n", sections.get("A.php"));
+    }
+
+    @Test
+    public void testNamesCannotContainDashes() throws IOException {
+        Map<String, String> sections = split("A\n---SPLIT:a-b---\nB\n---SPLIT:B.php---", false);
+
+        assertEquals(1, sections.size());
+        assertEquals("A\n---SPLIT:a-b---\nB\n", sections.get("B.php"));
+    }
+}
@@ -0,0 +1,57 @@
+package org.openapitools.codegen.phpcommon;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the layered per-operation template context
+ */
+public class TemplateContextTest {
+
+    @Test
+    public void testLocalValuesShadowGlobalValues() {
+        Map<String, Object> global = new HashMap<>();
+        global.put("invokerPackage", "App");
+        global.put("classname", "Global");
+
+        TemplateContext context = new TemplateContext(global)
+            .with("classname", "CreatePetController")
+            .with("bodyParam", null);
+
+        assertEquals("CreatePetController", context.get("classname"));
+        assertEquals("App", context.get("invokerPackage"));
+        assertTrue(context.containsKey("bodyParam"), "Local null values should shadow the global layer");
+        assertNull(context.get("bodyParam"));
+        assertFalse(context.containsKey("missing"));
+        assertEquals(3, context.size());
+    }
+
+    @Test
+    public void testGlobalLayerIsNotCopied() {
+        Map<String, Object> global = new HashMap<>();
+        TemplateContext context = new TemplateContext(global);
+
+        // Changes to the global layer are visible without rebuilding the context
+        global.put("hasOperations", true);
+        assertEquals(true, context.get("hasOperations"));
+
+        assertThrows(UnsupportedOperationException.class, () -> context.put("hasOperations", false));
+        assertEquals(true, global.get("hasOperations"));
+    }
+
+    @Test
+    public void testMustacheResolvesBothLayers() {
+        Map<String, Object> global = new HashMap<>();
+        global.put("invokerPackage", "App");
+
+        TemplateContext context = new TemplateContext(global).with("classname", "PetController");
+
+        String rendered = Mustache.compiler().compile("{{invokerPackage}}\\{{classname}}").execute(context);
+        assertEquals("App\\PetController", rendered);
+    }
+}
@@ -0,0 +1,101 @@
+package org.openapitools.codegen.phpcommon;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory template index
+ */
+public class TemplateIndexTest {
+
+    private Path createTemplateDir() throws IOException {
+        Path dir = Files.createTempDirectory("php-templates");
+        Files.writeString(dir.resolve("model.mustache"), "custom model");
+        Files.createDirectories(dir.resolve("partials"));
+        Files.writeString(dir.resolve("partials/header.mustache"), "custom header");
+        return dir;
+    }
+
+    /**
+     * Class path root with embedded templates under "embedded"
+     */
+    private Path createEmbeddedRoot() throws IOException {
+        Path root = Files.createTempDirectory("php-embedded");
+        Files.createDirectories(root.resolve("embedded"));
+        Files.writeString(root.resolve("embedded/model.mustache"), "embedded model");
+        Files.writeString(root.resolve("embedded/controller.mustache"), "embedded controller");
+        return root;
+    }
+
+    @Test
+    public void testCustomTemplatesOverlayEmbeddedTemplates() throws IOException {
+        Path customDir = createTemplateDir();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{createEmbeddedRoot().toUri().toURL()}, null)) {
+            TemplateIndex index = TemplateIndex.build(customDir.toString(), "embedded", loader);
+
+            assertTrue(index.containsCustom("model.mustache"));
+            assertTrue(index.containsEmbedded("model.mustache"));
+            assertEquals("custom model", index.readCustom("model.mustache"));
+
+            assertTrue(index.contains("partials/header.mustache"), "Nested templates use '/' separated names");
+            assertTrue(index.contains("controller.mustache"), "Embedded templates should be indexed");
+            assertFalse(index.containsCustom("controller.mustache"));
+            assertFalse(index.contains("missing.mustache"));
+            assertNull(index.readEmbedded("missing.mustache"));
+            assertEquals(java.util.Set.of("model.mustache", "controller.mustache", "partials/header.mustache"), index.getNames());
+        }
+    }
+
+    @Test
+    public void testReadPrefersCustomTemplates() throws IOException {
+        Path customDir = createTemplateDir();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{createEmbeddedRoot().toUri().toURL()}, null)) {
+            TemplateIndex index = TemplateIndex.build(customDir.toString(), "embedded", loader);
+
+            assertEquals("custom model", index.read("model.mustache"));
+            assertEquals("embedded controller", index.read("controller.mustache"));
+            assertEquals("custom header", index.read("partials/header.mustache"));
+            assertNull(index.read("missing.mustache"));
+        }
+    }
+
+    @Test
+    public void testIndexIsBuiltOnce() throws IOException {
+        Path customDir = createTemplateDir();
+        TemplateIndex index = TemplateIndex.build(customDir.toString(), "embedded", getClass().getClassLoader());
+
+        // Templates added after the index was built are not visible: lookups never hit the file system
+        Files.writeString(customDir.resolve("late.mustache"), "late");
+        assertFalse(index.contains("late.mustache"));
+    }
+
+    @Test
+    public void testEmbeddedTemplatesAreListedFromJar() throws IOException {
+        Path jar = Files.createTempDirectory("php-jar").resolve("templates.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("bundled/"));
+            out.putNextEntry(new JarEntry("bundled/api.mustache"));
+            out.write("jar api".getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new JarEntry("bundled/nested/partial.mustache"));
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            TemplateIndex index = TemplateIndex.build(null, "bundled", loader);
+
+            assertEquals(java.util.Set.of("api.mustache", "nested/partial.mustache"), index.getNames());
+            assertEquals("jar api", index.readEmbedded("api.mustache"));
+            assertFalse(index.contains("model.mustache"));
+        }
+    }
+}
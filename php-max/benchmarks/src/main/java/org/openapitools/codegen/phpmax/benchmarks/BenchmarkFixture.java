@@ -0,0 +1,109 @@
+package org.openapitools.codegen.phpmax.benchmarks;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.phpmax.SyntheticSpecGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Shared setup for the benchmarks: synthetic specs and the per-operation template set
+ * from the php-max test-jar, and an output root on tmpfs when available.
+ */
+public final class BenchmarkFixture {
+
+    // Per-operation templates shipped in the php-max test-jar
+    private static final String TEMPLATE_RESOURCES = "templates/per-operation/";
+    private static final String[] TEMPLATES = {
+        "files.json", "model.mustache", "api.mustache", "ctrl.mustache", "header.mustache",
+        "req.mustache", "res.mustache", "routes.mustache"
+    };
+
+    private BenchmarkFixture() {
+    }
+
+    /**
+     * Directory for benchmark output: /dev/shm (memory-backed) if writable, else java.io.tmpdir.
+     * Override with -Dphpmax.benchmark.dir=...
+     */
+    public static Path createWorkDir(String name) throws IOException {
+        String configured = System.getProperty("phpmax.benchmark.dir");
+        Path root = configured != null ? Paths.get(configured) : Paths.get("/dev/shm");
+        if (configured == null && !(Files.isDirectory(root) && Files.isWritable(root))) {
+            root = Paths.get(System.getProperty("java.io.tmpdir"));
+        }
+        Files.createDirectories(root);
+        return Files.createTempDirectory(root, "php-max-bench-" + name + "-");
+    }
+
+    /**
+     * Write a seeded synthetic spec with the given operation count (ten operations per tag).
+     */
+    public static Path writeSpec(Path workDir, int operations) throws IOException {
+        return new SyntheticSpecGenerator()
+            .operations(operations)
+            .tags(Math.max(1, operations / 10))
+            .write(workDir.resolve("spec.yaml"));
+    }
+
+    /**
+     * Copy the per-operation template set out of the test-jar.
+     */
+    public static Path extractTemplates(Path workDir) throws IOException {
+        Path templateDir = Files.createDirectories(workDir.resolve("templates"));
+        for (String template : TEMPLATES) {
+            try (InputStream in = BenchmarkFixture.class.getClassLoader().getResourceAsStream(TEMPLATE_RESOURCES + template)) {
+                if (in == null) {
+                    throw new IOException("Template resource not found: " + TEMPLATE_RESOURCES + template);
+                }
+                Files.copy(in, templateDir.resolve(template), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return templateDir;
+    }
+
+    public static ClientOptInput clientOptInput(Path spec, Path templateDir, Path outputDir) {
+        return new CodegenConfigurator()
+            .setGeneratorName(BenchmarkGenerator.class.getName())
+            .setInputSpec(spec.toString())
+            .setTemplateDir(templateDir.toString())
+            .setOutputDir(outputDir.toString())
+            .addAdditionalProperty("apiPackage", "BenchmarkApi")
+            .toClientOptInput();
+    }
+
+    /**
+     * Run one full generation and return the generator with its recorded phase inputs.
+     */
+    public static BenchmarkGenerator generate(Path spec, Path templateDir, Path outputDir) {
+        ClientOptInput input = clientOptInput(spec, templateDir, outputDir);
+        new DefaultGenerator().opts(input).generate();
+        return (BenchmarkGenerator) input.getConfig();
+    }
+
+    public static void delete(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.openapitools.codegen.phpmax.benchmarks;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.phpmax.PhpMaxGenerator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * php-max generator that records the inputs DefaultGenerator hands to the
+ * post-processing hooks, so single phases can be replayed by the benchmarks.
+ *
+ * Run a full generation once, then call the replay methods. Replayed phases work on
+ * the recorded (already enriched) objects, which only re-puts the same flags.
+ */
+public class BenchmarkGenerator extends PhpMaxGenerator {
+
+    private boolean recording = true;
+    private final List<ModelsMap> models = new ArrayList<>();
+    private final List<ModelMap> allModels = new ArrayList<>();
+    private final List<OperationsMap> operations = new ArrayList<>();
+
+    @Override
+    public ModelsMap postProcessModels(ModelsMap objs) {
+        ModelsMap result = super.postProcessModels(objs);
+        if (recording) {
+            models.add(result);
+            allModels.addAll(result.getModels());
+        }
+        return result;
+    }
+
+    @Override
+    public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        OperationsMap result = super.postProcessOperationsWithModels(objs, allModels);
+        if (recording) {
+            operations.add(result);
+        }
+        return result;
+    }
+
+    @Override
+    public void postProcess() {
+        super.postProcess();
+        recording = false;
+    }
+
+    public List<ModelsMap> getRecordedModels() {
+        return models;
+    }
+
+    public List<CodegenModel> getRecordedModelList() {
+        List<CodegenModel> modelList = new ArrayList<>(allModels.size());
+        for (ModelMap modelMap : allModels) {
+            modelList.add(modelMap.getModel());
+        }
+        return modelList;
+    }
+
+    public List<OperationsMap> getRecordedOperations() {
+        return operations;
+    }
+
+    /**
+     * Recorded operations, once per operationId (the generator itself releases them after the run)
+     */
+    public List<CodegenOperation> getAllOperations() {
+        Map<String, CodegenOperation> byId = new LinkedHashMap<>();
+        for (OperationsMap operationsMap : operations) {
+            for (CodegenOperation op : operationsMap.getOperations().getOperation()) {
+                byId.put(op.operationId, op);
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    public List<OperationTemplateConfig> getOperationTemplates() {
+        return operationTemplateFiles;
+    }
+
+    public ModelsMap replayPostProcessModels(ModelsMap objs) {
+        return super.postProcessModels(objs);
+    }
+
+    public void replayProcessModels(List<CodegenModel> modelList, int parallelism) {
+        modelParallelism = parallelism;
+        processModels(modelList);
+    }
+
+    public OperationsMap replayPostProcessOperationsWithModels(OperationsMap objs) {
+        return super.postProcessOperationsWithModels(objs, allModels);
+    }
+
+    public void replayWriteOperationFile(CodegenOperation op, OperationTemplateConfig config) {
+        writeOperationFile(op, config);
+    }
+
+    public String replayProcessTemplate(String templateName, Map<String, Object> data) {
+        return processTemplate(templateName, data);
+    }
+
+    public String replayToEnumCaseName(String value) {
+        return toEnumCaseName(value);
+    }
+}
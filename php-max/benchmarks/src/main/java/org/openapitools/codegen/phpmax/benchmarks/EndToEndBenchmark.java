@@ -0,0 +1,67 @@
+package org.openapitools.codegen.phpmax.benchmarks;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full DefaultGenerator.generate() runs of php-max on synthetic specs, including spec
+ * parsing, every template and all file writes (to tmpfs when available).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int operations;
+
+    private Path workDir;
+    private Path spec;
+    private Path templateDir;
+    private Path outputDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = BenchmarkFixture.createWorkDir("e2e-" + operations);
+        spec = BenchmarkFixture.writeSpec(workDir, operations);
+        templateDir = BenchmarkFixture.extractTemplates(workDir);
+    }
+
+    @Setup(Level.Iteration)
+    public void cleanOutput() {
+        // Every run starts from an empty output directory
+        BenchmarkFixture.delete(outputDir);
+        outputDir = workDir.resolve("out");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixture.delete(workDir);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return new DefaultGenerator().opts(BenchmarkFixture.clientOptInput(spec, templateDir, outputDir)).generate();
+    }
+}
@@ -0,0 +1,66 @@
+package org.openapitools.codegen.phpmax.benchmarks;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of model post-processing (enum cases, constraint flags, property order) with
+ * modelParallelism. The synthetic spec has four schemas per tag of ten operations, so
+ * 7500 operations give a 3,000-schema spec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelsBenchmark {
+
+    @Param({"2500", "7500"})
+    public int operations;
+
+    @Param({"1", "2", "4", "8"})
+    public int modelParallelism;
+
+    private Path workDir;
+    private BenchmarkGenerator generator;
+    private List<CodegenModel> models;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = BenchmarkFixture.createWorkDir("models-" + operations);
+        Path spec = BenchmarkFixture.writeSpec(workDir, operations);
+        Path templateDir = BenchmarkFixture.extractTemplates(workDir);
+
+        generator = BenchmarkFixture.generate(spec, templateDir, workDir.resolve("out"));
+        models = generator.getRecordedModelList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixture.delete(workDir);
+    }
+
+    @Benchmark
+    public int processModels() {
+        generator.replayProcessModels(models, modelParallelism);
+        return models.size();
+    }
+}
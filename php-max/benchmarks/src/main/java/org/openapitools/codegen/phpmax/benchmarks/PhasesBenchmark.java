@@ -0,0 +1,146 @@
+package org.openapitools.codegen.phpmax.benchmarks;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.phpcommon.NamingCache;
+import org.openapitools.codegen.phpmax.PhpMaxGenerator.OperationTemplateConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the individual php-max generation phases.
+ *
+ * The trial setup runs one full generation of a synthetic spec and records the phase
+ * inputs; each benchmark then replays a single phase on them. Per-call benchmarks
+ * (writeOperationFile, processTemplate, toEnumCaseName) rotate through all inputs.
+ * toEnumCaseName goes through the run's naming cache; enumCaseNameScan measures the
+ * uncached scanner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhasesBenchmark {
+
+    private static final String[] ENUM_VALUES = {
+        "active", "pending-review", "ARCHIVED", "in progress", "2xx", "-1", "", "value.with.dots",
+        "camelCaseValue", "UPPER_SNAKE", "ünïcode", "a/b/c"
+    };
+
+    @Param({"100", "1000", "10000"})
+    public int operations;
+
+    private Path workDir;
+    private BenchmarkGenerator generator;
+    private List<CodegenOperation> allOperations;
+    private List<OperationTemplateConfig> templates;
+    private List<Map<String, Object>> templateData;
+
+    private int operationIndex;
+    private int templateIndex;
+    private int enumIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = BenchmarkFixture.createWorkDir("phases-" + operations);
+        Path spec = BenchmarkFixture.writeSpec(workDir, operations);
+        Path templateDir = BenchmarkFixture.extractTemplates(workDir);
+
+        generator = BenchmarkFixture.generate(spec, templateDir, workDir.resolve("out"));
+        allOperations = generator.getAllOperations();
+        templates = generator.getOperationTemplates();
+
+        templateData = new ArrayList<>(allOperations.size());
+        for (CodegenOperation op : allOperations) {
+            Map<String, Object> data = new HashMap<>(generator.additionalProperties());
+            data.put("operation", op);
+            data.put("operationId", op.operationId);
+            data.put("classname", op.operationId + "Controller");
+            data.put("summary", op.summary);
+            data.put("httpMethod", op.httpMethod);
+            data.put("path", op.path);
+            data.put("allParams", op.allParams);
+            data.put("bodyParam", op.bodyParam);
+            data.put("responses", op.responses);
+            templateData.add(data);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixture.delete(workDir);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void postProcessModels(Blackhole blackhole) {
+        for (ModelsMap models : generator.getRecordedModels()) {
+            blackhole.consume(generator.replayPostProcessModels(models));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void postProcessOperationsWithModels(Blackhole blackhole) {
+        for (OperationsMap operationsMap : generator.getRecordedOperations()) {
+            blackhole.consume(generator.replayPostProcessOperationsWithModels(operationsMap));
+        }
+    }
+
+    @Benchmark
+    public void writeOperationFile() {
+        CodegenOperation op = allOperations.get(operationIndex);
+        generator.replayWriteOperationFile(op, templates.get(templateIndex));
+
+        if (++templateIndex == templates.size()) {
+            templateIndex = 0;
+            operationIndex = (operationIndex + 1) % allOperations.size();
+        }
+    }
+
+    @Benchmark
+    public String processTemplate() {
+        Map<String, Object> data = templateData.get(operationIndex);
+        operationIndex = (operationIndex + 1) % templateData.size();
+        return generator.replayProcessTemplate("ctrl.mustache", data);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String toEnumCaseName() {
+        String value = ENUM_VALUES[enumIndex];
+        enumIndex = (enumIndex + 1) % ENUM_VALUES.length;
+        return generator.replayToEnumCaseName(value);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String enumCaseNameScan() {
+        String value = ENUM_VALUES[enumIndex];
+        enumIndex = (enumIndex + 1) % ENUM_VALUES.length;
+        return NamingCache.enumCaseName(value);
+    }
+}
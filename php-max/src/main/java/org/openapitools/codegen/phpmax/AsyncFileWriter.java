@@ -0,0 +1,240 @@
+package org.openapitools.codegen.phpmax;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Output sink that writes generated files on dedicated writer threads.
+ *
+ * Rendering threads hand over file content and continue; writer threads drain their
+ * queues in batches, create each output directory once and write the files.
+ * Each path always goes to the same writer, so repeated writes of one file keep their order.
+ * The amount of queued content is capped by a byte budget: producers block once
+ * the budget is used up, so memory stays bounded when the file system is slow.
+ * {@link #flush()} is a barrier that waits for every queued write (and fsync, if enabled).
+ */
+public class AsyncFileWriter {
+
+    public static final int DEFAULT_BUFFER_MB = 64;
+
+    private static final int BATCH_SIZE = 64;
+
+    private static final class WriteRequest {
+        final Path path;
+        final byte[] content;
+        final Runnable onWritten;
+
+        WriteRequest(Path path, byte[] content, Runnable onWritten) {
+            this.path = path;
+            this.content = content;
+            this.onWritten = onWritten;
+        }
+    }
+
+    private static final WriteRequest SHUTDOWN = new WriteRequest(null, new byte[0], null);
+
+    private final List<BlockingQueue<WriteRequest>> queues = new ArrayList<>();
+    private final Semaphore bufferBudget;
+    private final int bufferBytes;
+    private final boolean fsync;
+    private final List<Thread> writers = new ArrayList<>();
+
+    // Directories known to exist, shared by all writer threads
+    private final ConcurrentHashMap<Path, Boolean> createdDirectories = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+
+    private final Object pendingLock = new Object();
+    private long pending;
+    private long filesWritten;
+    private long bytesWritten;
+    private boolean closed;
+
+    public AsyncFileWriter(int threads, int bufferMb, boolean fsync) {
+        this.bufferBytes = (int) Math.min(Integer.MAX_VALUE, Math.max(1, bufferMb) * 1024L * 1024L);
+        this.bufferBudget = new Semaphore(bufferBytes);
+        this.fsync = fsync;
+
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            BlockingQueue<WriteRequest> queue = new LinkedBlockingQueue<>();
+            queues.add(queue);
+            Thread writer = new Thread(() -> drain(queue), "php-max-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Queue a file for writing. Blocks while the buffer budget is exhausted.
+     */
+    public void write(Path path, byte[] content) {
+        write(path, content, null);
+    }
+
+    /**
+     * Queue a file for writing; onWritten runs on the writer thread once the file was
+     * written successfully (before {@link #flush()} returns), and not at all if it failed.
+     */
+    public void write(Path path, byte[] content, Runnable onWritten) {
+        synchronized (pendingLock) {
+            if (closed) {
+                throw new IllegalStateException("Writer is closed: " + path);
+            }
+            pending++;
+        }
+
+        bufferBudget.acquireUninterruptibly(permitsFor(content));
+        queues.get(Math.floorMod(path.hashCode(), queues.size())).add(new WriteRequest(path, content, onWritten));
+    }
+
+    /**
+     * Wait until all queued files are written. Returns the errors collected since the last flush.
+     */
+    public List<String> flush() {
+        synchronized (pendingLock) {
+            while (pending > 0) {
+                try {
+                    pendingLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        List<String> result = new ArrayList<>();
+        String error;
+        while ((error = errors.poll()) != null) {
+            result.add(error);
+        }
+        return result;
+    }
+
+    /**
+     * Flush outstanding writes and stop the writer threads.
+     */
+    public List<String> close() {
+        List<String> result = flush();
+        synchronized (pendingLock) {
+            if (closed) {
+                return result;
+            }
+            closed = true;
+        }
+
+        for (BlockingQueue<WriteRequest> queue : queues) {
+            queue.add(SHUTDOWN);
+        }
+        for (Thread writer : writers) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return result;
+    }
+
+    public long getFilesWritten() {
+        synchronized (pendingLock) {
+            return filesWritten;
+        }
+    }
+
+    public long getBytesWritten() {
+        synchronized (pendingLock) {
+            return bytesWritten;
+        }
+    }
+
+    private int permitsFor(byte[] content) {
+        // A single file larger than the whole budget still goes through, alone
+        return Math.max(1, Math.min(content.length, bufferBytes));
+    }
+
+    private void drain(BlockingQueue<WriteRequest> queue) {
+        List<WriteRequest> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+
+            boolean shutdown = false;
+            for (WriteRequest request : batch) {
+                if (request == SHUTDOWN) {
+                    shutdown = true;
+                    continue;
+                }
+                writeFile(request);
+            }
+            batch.clear();
+
+            if (shutdown) {
+                return;
+            }
+        }
+    }
+
+    private void writeFile(WriteRequest request) {
+        boolean written = false;
+        try {
+            Path parent = request.path.getParent();
+            if (parent != null) {
+                // computeIfAbsent blocks other writers of the same directory until it exists
+                createdDirectories.computeIfAbsent(parent, dir -> {
+                    try {
+                        Files.createDirectories(dir);
+                        return Boolean.TRUE;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            try (FileChannel channel = FileChannel.open(request.path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(request.content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(true);
+                }
+            }
+            written = true;
+            if (request.onWritten != null) {
+                request.onWritten.run();
+            }
+        } catch (IOException | RuntimeException e) {
+            errors.add("Error writing file: " + request.path + " (" + e.getMessage() + ")");
+        } finally {
+            bufferBudget.release(permitsFor(request.content));
+            synchronized (pendingLock) {
+                if (written) {
+                    filesWritten++;
+                    bytesWritten += request.content.length;
+                }
+                pending--;
+                if (pending == 0) {
+                    pendingLock.notifyAll();
+                }
+            }
+        }
+    }
+}
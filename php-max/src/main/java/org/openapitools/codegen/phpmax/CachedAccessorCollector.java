@@ -0,0 +1,98 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.DefaultCollector;
+import com.samskivert.mustache.Mustache;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jmustache collector that resolves each (class, name) variable once for all templates.
+ *
+ * jmustache caches variable fetchers per compiled template, and DefaultGenerator compiles
+ * a new template for every file it renders, so the reflective lookup of names such as
+ * operation.path or vendorExtensions on CodegenOperation, CodegenParameter and
+ * CodegenProperty is repeated for every file. This collector keeps one fetcher per class
+ * and name across all templates (misses included), and replaces reflective Method.invoke
+ * and Field.get calls by method handles.
+ *
+ * Name resolution is unchanged: maps, lists and custom contexts are handled by jmustache;
+ * objects are probed for a method, then a field, then an interface method, like
+ * DefaultCollector does.
+ */
+public class CachedAccessorCollector extends DefaultCollector {
+
+    private static final MethodType FETCH_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // Cached lookup miss, never returned to jmustache
+    private static final Mustache.VariableFetcher NOT_FOUND = (ctx, name) -> null;
+
+    private final Map<Class<?>, Map<String, Mustache.VariableFetcher>> fetchers = new ConcurrentHashMap<>();
+
+    @Override
+    public Mustache.VariableFetcher createFetcher(Object ctx, String name) {
+        Map<String, Mustache.VariableFetcher> byName = fetchers.computeIfAbsent(ctx.getClass(), c -> new ConcurrentHashMap<>());
+        Mustache.VariableFetcher fetcher = byName.get(name);
+        if (fetcher == null) {
+            fetcher = resolve(ctx, name);
+            byName.putIfAbsent(name, fetcher);
+        }
+        return fetcher != NOT_FOUND ? fetcher : null;
+    }
+
+    /**
+     * Number of classes with cached accessors
+     */
+    public int getCachedClassCount() {
+        return fetchers.size();
+    }
+
+    private Mustache.VariableFetcher resolve(Object ctx, String name) {
+        Mustache.VariableFetcher fetcher = super.createFetcher(ctx, name);
+        if (fetcher == null) {
+            return NOT_FOUND;
+        }
+        if (fetcher.getClass().getEnclosingClass() != DefaultCollector.class) {
+            // Map, list, array or custom context fetcher: no reflection involved
+            return fetcher;
+        }
+
+        // Reflective fetcher: look up the same member again and access it through a method handle
+        Class<?> cls = ctx.getClass();
+        try {
+            Method method = getMethod(cls, name);
+            if (method != null) {
+                return handleFetcher(MethodHandles.lookup().unreflect(method));
+            }
+            Field field = getField(cls, name);
+            if (field != null) {
+                return handleFetcher(MethodHandles.lookup().unreflectGetter(field));
+            }
+            Method ifaceMethod = getIfaceMethod(cls, name);
+            if (ifaceMethod != null) {
+                return handleFetcher(MethodHandles.lookup().unreflect(ifaceMethod));
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            // not accessible through a method handle: keep the reflective fetcher
+        }
+        return fetcher;
+    }
+
+    private static Mustache.VariableFetcher handleFetcher(MethodHandle handle) {
+        MethodHandle getter = handle.asType(FETCH_TYPE);
+        return (ctx, name) -> {
+            try {
+                return (Object) getter.invokeExact(ctx);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        };
+    }
+}
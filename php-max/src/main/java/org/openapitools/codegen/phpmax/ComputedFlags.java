@@ -0,0 +1,222 @@
+package org.openapitools.codegen.phpmax;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.CodegenResponse;
+import org.openapitools.codegen.IJsonSchemaValidationProperties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * vendorExtensions view that computes the generator's convenience flags when they are read.
+ *
+ * The flags (hasMinLength, isDate, isGet, is4xx, enumValuesString, ...) used to be put into
+ * the vendorExtensions HashMap of every operation, parameter, property and response. This view
+ * wraps the original map instead: real vendor extensions and later puts go to that map and take
+ * precedence, a flag is derived from its owner on each read and is never stored. Templates keep
+ * using the same names ({{vendorExtensions.hasMinLength}}); a flag whose value would be null
+ * (e.g. enumValues of a non-enum) is absent, exactly as before.
+ */
+public final class ComputedFlags<T> extends AbstractMap<String, Object> {
+
+    static final Map<String, Function<CodegenOperation, Object>> OPERATION_FLAGS = operationFlags();
+    static final Map<String, Function<CodegenParameter, Object>> PARAMETER_FLAGS =
+        constraintFlags(p -> p.dataFormat, p -> p.allowableValues, "ipv4", "ipv6");
+    static final Map<String, Function<CodegenProperty, Object>> PROPERTY_FLAGS =
+        constraintFlags(p -> p.dataFormat, p -> p.allowableValues, "ipv4", "ipv6", "ip");
+    static final Map<String, Function<CodegenResponse, Object>> RESPONSE_FLAGS = responseFlags();
+
+    private final T owner;
+    private final Map<String, Object> stored;
+    private final Map<String, Function<T, Object>> flags;
+
+    private ComputedFlags(T owner, Map<String, Object> stored, Map<String, Function<T, Object>> flags) {
+        this.owner = owner;
+        this.stored = stored;
+        this.flags = flags;
+    }
+
+    public static void install(CodegenOperation op) {
+        if (!(op.vendorExtensions instanceof ComputedFlags)) {
+            op.vendorExtensions = new ComputedFlags<>(op, op.vendorExtensions, OPERATION_FLAGS);
+        }
+    }
+
+    public static void install(CodegenParameter param) {
+        if (!(param.vendorExtensions instanceof ComputedFlags)) {
+            param.vendorExtensions = new ComputedFlags<>(param, param.vendorExtensions, PARAMETER_FLAGS);
+        }
+    }
+
+    /**
+     * Models can share property instances (core property cache) and are post-processed in
+     * parallel with modelParallelism > 1, so the property is wrapped at most once under its lock
+     */
+    public static void install(CodegenProperty prop) {
+        synchronized (prop) {
+            if (!(prop.vendorExtensions instanceof ComputedFlags)) {
+                prop.vendorExtensions = new ComputedFlags<>(prop, prop.vendorExtensions, PROPERTY_FLAGS);
+            }
+        }
+    }
+
+    public static void install(CodegenResponse response) {
+        if (!(response.vendorExtensions instanceof ComputedFlags)) {
+            response.vendorExtensions = new ComputedFlags<>(response, response.vendorExtensions, RESPONSE_FLAGS);
+        }
+    }
+
+    /**
+     * The extensions actually stored in a vendorExtensions map, without computed flags
+     */
+    static Map<String, Object> storedOf(Map<String, Object> extensions) {
+        return extensions instanceof ComputedFlags ? ((ComputedFlags<?>) extensions).stored : extensions;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = stored.get(key);
+        if (value != null || stored.containsKey(key)) {
+            return value;
+        }
+        Function<T, Object> flag = flags.get(key);
+        return flag == null ? null : flag.apply(owner);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return stored.containsKey(key) || get(key) != null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        stored.put(key, value);
+        return previous;
+    }
+
+    /**
+     * Removes a stored value; a computed flag of the same name becomes visible again
+     */
+    @Override
+    public Object remove(Object key) {
+        return stored.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        stored.clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                List<Entry<String, Object>> entries = new ArrayList<>(stored.entrySet());
+                for (Map.Entry<String, Function<T, Object>> flag : flags.entrySet()) {
+                    if (!stored.containsKey(flag.getKey())) {
+                        Object value = flag.getValue().apply(owner);
+                        if (value != null) {
+                            entries.add(new SimpleImmutableEntry<>(flag.getKey(), value));
+                        }
+                    }
+                }
+                return Collections.unmodifiableList(entries).iterator();
+            }
+
+            @Override
+            public int size() {
+                int size = stored.size();
+                for (Map.Entry<String, Function<T, Object>> flag : flags.entrySet()) {
+                    if (!stored.containsKey(flag.getKey()) && flag.getValue().apply(owner) != null) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    private static Map<String, Function<CodegenOperation, Object>> operationFlags() {
+        Map<String, Function<CodegenOperation, Object>> flags = new LinkedHashMap<>();
+        // Parameter presence flags
+        flags.put("hasPathParams", op -> op.pathParams != null && !op.pathParams.isEmpty());
+        flags.put("hasQueryParams", op -> op.queryParams != null && !op.queryParams.isEmpty());
+        flags.put("hasHeaderParams", op -> op.headerParams != null && !op.headerParams.isEmpty());
+        flags.put("hasFormParams", op -> op.formParams != null && !op.formParams.isEmpty());
+        flags.put("hasBodyParam", op -> op.bodyParam != null);
+        // HTTP method flags
+        flags.put("isGet", op -> "GET".equalsIgnoreCase(op.httpMethod));
+        flags.put("isPost", op -> "POST".equalsIgnoreCase(op.httpMethod));
+        flags.put("isPut", op -> "PUT".equalsIgnoreCase(op.httpMethod));
+        flags.put("isPatch", op -> "PATCH".equalsIgnoreCase(op.httpMethod));
+        flags.put("isDelete", op -> "DELETE".equalsIgnoreCase(op.httpMethod));
+        // Security scheme names, only for operations with auth methods
+        flags.put("securitySchemeNames", op -> op.authMethods == null || op.authMethods.isEmpty() ? null
+            : op.authMethods.stream().map(auth -> auth.name).collect(Collectors.toList()));
+        flags.put("securitySchemesString", op -> op.authMethods == null || op.authMethods.isEmpty() ? null
+            : op.authMethods.stream().map(auth -> auth.name).collect(Collectors.joining(", ")));
+        return Collections.unmodifiableMap(flags);
+    }
+
+    private static Map<String, Function<CodegenResponse, Object>> responseFlags() {
+        Map<String, Function<CodegenResponse, Object>> flags = new LinkedHashMap<>();
+        flags.put("isSuccess", response -> response.code != null && response.code.startsWith("2"));
+        flags.put("isError", response -> response.code != null && !response.code.startsWith("2"));
+        flags.put("is2xx", response -> response.code != null && response.code.startsWith("2"));
+        flags.put("is4xx", response -> response.code != null && response.code.startsWith("4"));
+        flags.put("is5xx", response -> response.code != null && response.code.startsWith("5"));
+        return Collections.unmodifiableMap(flags);
+    }
+
+    /**
+     * Format and constraint flags shared by parameters and properties
+     */
+    private static <T extends IJsonSchemaValidationProperties> Map<String, Function<T, Object>> constraintFlags(
+            Function<T, String> dataFormat, Function<T, Map<String, Object>> allowableValues, String... ipFormats) {
+        List<String> ip = List.of(ipFormats);
+        Map<String, Function<T, Object>> flags = new LinkedHashMap<>();
+        // Format-based flags; isEmail and isUuid are already set by OpenAPI Generator
+        flags.put("isUrl", p -> "url".equals(dataFormat.apply(p)) || "uri".equals(dataFormat.apply(p)));
+        flags.put("isDate", p -> "date".equals(dataFormat.apply(p)));
+        flags.put("isDateTime", p -> "date-time".equals(dataFormat.apply(p)));
+        flags.put("isIpAddress", p -> ip.contains(dataFormat.apply(p)));
+        // Constraint presence flags
+        flags.put("hasMinLength", p -> p.getMinLength() != null);
+        flags.put("hasMaxLength", p -> p.getMaxLength() != null);
+        flags.put("hasMinimum", p -> p.getMinimum() != null);
+        flags.put("hasMaximum", p -> p.getMaximum() != null);
+        flags.put("hasPattern", p -> p.getPattern() != null && !p.getPattern().isEmpty());
+        flags.put("hasMinItems", p -> p.getMinItems() != null);
+        flags.put("hasMaxItems", p -> p.getMaxItems() != null);
+        // Enum values, e.g. for Laravel's 'in:' rule
+        flags.put("enumValuesString", p -> {
+            List<Object> values = enumValues(p, allowableValues);
+            return values == null ? null : values.stream().map(String::valueOf).collect(Collectors.joining(","));
+        });
+        flags.put("enumValues", p -> enumValues(p, allowableValues));
+        return Collections.unmodifiableMap(flags);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends IJsonSchemaValidationProperties> List<Object> enumValues(
+            T p, Function<T, Map<String, Object>> allowableValues) {
+        Map<String, Object> allowable = allowableValues.apply(p);
+        if (!p.getIsEnum() || allowable == null) {
+            return null;
+        }
+        return (List<Object>) allowable.get("values");
+    }
+}
@@ -0,0 +1,192 @@
+package org.openapitools.codegen.phpmax;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters of one generation run, written as a JSON report.
+ *
+ * Timers record the duration of generator phases and of template renders (per template
+ * name) into a histogram with power-of-two microsecond buckets, from which the report
+ * derives approximate percentiles. Counters track files and bytes written, skipped files
+ * and cache hits. All recording is thread-safe and does nothing while metrics are disabled.
+ *
+ * Usage: long start = metrics.start(); ... metrics.record("phase", start);
+ */
+public class GenerationMetrics {
+
+    // Phase names used by the generator
+    public static final String PREPROCESS_OPENAPI = "preprocessOpenAPI";
+    public static final String EXTRACT_SECURITY_SCHEMES = "extractSecuritySchemes";
+    public static final String TRANSFORM_OPERATION_TAGS = "transformOperationTags";
+    public static final String POST_PROCESS_MODELS = "postProcessModels";
+    public static final String POST_PROCESS_OPERATIONS = "postProcessOperationsWithModels";
+    public static final String WRITE_OPERATION_FILES = "writeOperationFiles";
+    public static final String WRITE_TO_FILE = "writeToFile";
+    public static final String POST_PROCESS_FILE = "postProcessFile";
+    public static final String POST_PROCESS_BATCH = "postProcessBatch";
+
+    // Counter names used by the generator
+    public static final String FILES_WRITTEN = "filesWritten";
+    public static final String BYTES_WRITTEN = "bytesWritten";
+    public static final String FILES_SKIPPED_EMPTY = "filesSkippedEmpty";
+    public static final String FILES_SKIPPED_UNCHANGED = "filesSkippedUnchanged";
+    public static final String RENDER_ERRORS = "renderErrors";
+
+    private static final int BUCKETS = 40;
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Timer> phases = new ConcurrentHashMap<>();
+    private final Map<String, Timer> templates = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Duration histogram of one phase or template
+     */
+    static final class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        // bucket i counts durations below 2^i microseconds
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            long micros = nanos / 1000;
+            int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            buckets.incrementAndGet(bucket);
+        }
+
+        Map<String, Object> toReport() {
+            long n = count.sum();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", n);
+            report.put("totalMs", round(totalNanos.sum() / 1e6));
+            report.put("meanUs", n == 0 ? 0 : round(totalNanos.sum() / 1e3 / n));
+            report.put("p50Us", percentile(n, 0.50));
+            report.put("p95Us", percentile(n, 0.95));
+            report.put("p99Us", percentile(n, 0.99));
+            report.put("maxUs", round(maxNanos.get() / 1e3));
+            return report;
+        }
+
+        // Upper bound of the bucket holding the percentile
+        private long percentile(long n, double percentile) {
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(n * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (BUCKETS - 1);
+        }
+    }
+
+    public GenerationMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start timestamp for {@link #record(String, long)}; 0 when disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the duration of a generator phase since start
+     */
+    public void record(String phase, long start) {
+        if (enabled) {
+            phases.computeIfAbsent(phase, p -> new Timer()).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record the duration of a template render since start
+     */
+    public void recordRender(String templateName, long start) {
+        if (enabled) {
+            templates.computeIfAbsent(templateName, t -> new Timer()).record(System.nanoTime() - start);
+        }
+    }
+
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long amount) {
+        if (enabled) {
+            counters.computeIfAbsent(counter, c -> new LongAdder()).add(amount);
+        }
+    }
+
+    public long getCount(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    public long getPhaseCount(String phase) {
+        Timer timer = phases.get(phase);
+        return timer != null ? timer.count.sum() : 0;
+    }
+
+    /**
+     * Build the report; extra counters (e.g. cache statistics) are added as given
+     */
+    public Map<String, Object> toReport(String generatorName, Map<String, Long> extraCounters) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generator", generatorName);
+        report.put("totalMs", round((System.nanoTime() - startNanos) / 1e6));
+
+        Map<String, Object> phaseReport = new TreeMap<>();
+        phases.forEach((name, timer) -> phaseReport.put(name, timer.toReport()));
+        report.put("phases", phaseReport);
+
+        Map<String, Object> templateReport = new TreeMap<>();
+        templates.forEach((name, timer) -> templateReport.put(name, timer.toReport()));
+        report.put("templates", templateReport);
+
+        Map<String, Long> counterReport = new TreeMap<>();
+        counters.forEach((name, adder) -> counterReport.put(name, adder.sum()));
+        counterReport.putAll(extraCounters);
+        report.put("counters", counterReport);
+        return report;
+    }
+
+    /**
+     * Write the JSON report
+     */
+    public void writeReport(Path file, String generatorName, Map<String, Long> extraCounters) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toReport(generatorName, extraCounters));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package org.openapitools.codegen.phpmax;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live heap checks for streaming generation.
+ *
+ * The live heap is the heap in use right after the most recent garbage collection (collection
+ * usage of the heap pools), so garbage from rendering does not count and a check costs no GC.
+ * {@link #check()} records the peak and reports whether it is above the budget (0 = no budget).
+ */
+public class HeapBudget {
+
+    private final long budgetBytes;
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private long peakBytes;
+
+    public HeapBudget(int budgetMb) {
+        this.budgetBytes = Math.max(0, budgetMb) * 1024L * 1024L;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    /**
+     * Live heap after the last collection, or the current heap usage if the JVM reports none
+     */
+    public long liveHeapBytes() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        if (used == 0) {
+            used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+        return used;
+    }
+
+    /**
+     * Record the current live heap; true if it is above the budget
+     */
+    public boolean check() {
+        long used = liveHeapBytes();
+        peakBytes = Math.max(peakBytes, used);
+        return budgetBytes > 0 && used > budgetBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getPeakBytes() {
+        return peakBytes;
+    }
+}
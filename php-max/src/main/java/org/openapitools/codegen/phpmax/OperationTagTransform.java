@@ -0,0 +1,118 @@
+package org.openapitools.codegen.phpmax;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.info.Info;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rewrites operation tags on the parsed spec, before the generator groups operations by tag.
+ *
+ * Replaces the php-laravel spec preprocessing scripts, which rewrote the spec file on disk
+ * with jq/yq for every run: set-operation-tags.sh (MODE_OPERATION_ID, one tag per operation)
+ * and remove-tags.sh (MODE_NONE). With a prefix, every remaining tag becomes
+ * {title}_{version}_{tag}. Operations in callbacks are rewritten too, like the scripts did.
+ */
+public class OperationTagTransform {
+
+    public static final String MODE_KEEP = "keep";
+    public static final String MODE_OPERATION_ID = "operationId";
+    public static final String MODE_NONE = "none";
+
+    private final String mode;
+    private final boolean prefixTitleVersion;
+    private int operationsChanged;
+
+    public OperationTagTransform(String mode, boolean prefixTitleVersion) {
+        if (!MODE_KEEP.equals(mode) && !MODE_OPERATION_ID.equals(mode) && !MODE_NONE.equals(mode)) {
+            throw new IllegalArgumentException("Unknown operation tag mode: " + mode
+                + " (expected " + MODE_KEEP + ", " + MODE_OPERATION_ID + " or " + MODE_NONE + ")");
+        }
+        this.mode = mode;
+        this.prefixTitleVersion = prefixTitleVersion;
+    }
+
+    /**
+     * Whether apply() would change anything
+     */
+    public boolean isEnabled() {
+        return !MODE_KEEP.equals(mode) || prefixTitleVersion;
+    }
+
+    /**
+     * Rewrite the tags of all operations in place; returns the number of operations changed
+     */
+    public int apply(OpenAPI openAPI) {
+        operationsChanged = 0;
+        if (!isEnabled() || openAPI.getPaths() == null) {
+            return 0;
+        }
+
+        String prefix = prefixTitleVersion ? tagPrefix(openAPI.getInfo()) : "";
+        for (PathItem pathItem : openAPI.getPaths().values()) {
+            applyToPath(pathItem, prefix);
+        }
+        return operationsChanged;
+    }
+
+    private void applyToPath(PathItem pathItem, String prefix) {
+        if (pathItem == null) {
+            return;
+        }
+        for (Operation operation : pathItem.readOperations()) {
+            applyToOperation(operation, prefix);
+            if (operation.getCallbacks() != null) {
+                for (Callback callback : operation.getCallbacks().values()) {
+                    if (callback != null) {
+                        for (PathItem callbackPath : callback.values()) {
+                            applyToPath(callbackPath, prefix);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void applyToOperation(Operation operation, String prefix) {
+        List<String> tags = operation.getTags();
+        if (MODE_NONE.equals(mode)) {
+            tags = null;
+        } else if (MODE_OPERATION_ID.equals(mode) && operation.getOperationId() != null) {
+            tags = Collections.singletonList(operation.getOperationId());
+        }
+
+        if (tags != null && !prefix.isEmpty()) {
+            List<String> prefixed = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                prefixed.add(prefix + tag);
+            }
+            tags = prefixed;
+        }
+
+        if (tags == null ? operation.getTags() != null : !tags.equals(operation.getTags())) {
+            operation.setTags(tags == null ? null : new ArrayList<>(tags));
+            operationsChanged++;
+        }
+    }
+
+    /**
+     * "{title}_{version}_" with non-alphanumeric runs replaced by '_', or "" without info
+     */
+    static String tagPrefix(Info info) {
+        StringBuilder prefix = new StringBuilder();
+        if (info != null) {
+            for (String part : new String[]{info.getTitle(), info.getVersion()}) {
+                String cleaned = part == null ? "" : part.trim().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_+|_+$", "");
+                if (!cleaned.isEmpty()) {
+                    prefix.append(cleaned).append('_');
+                }
+            }
+        }
+        return prefix.toString();
+    }
+}
@@ -0,0 +1,197 @@
+package org.openapitools.codegen.phpmax;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content-hash manifest of generated files (.php-max-manifest in the output directory).
+ *
+ * The manifest maps each generated path (relative to the output directory) to the
+ * SHA-256 of its content. On regeneration, a file whose freshly rendered content has
+ * the same hash as recorded last time - and which still exists - is not rewritten,
+ * so mtimes stay untouched and downstream caches (OPcache, Laravel) stay warm.
+ * Paths recorded last time but not generated this time are orphans.
+ *
+ * A hash is recorded only once its file is known to be on disk (written, or unchanged),
+ * so a failed write is regenerated next time. Paths outside the output directory are
+ * never recorded, and orphans that resolve outside of it are never deleted.
+ *
+ * The file uses the sha256sum format ("hash  path"), one file per line, sorted by path.
+ */
+public class OutputManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputManifest.class);
+
+    public static final String FILENAME = ".php-max-manifest";
+
+    private final Path outputDir;
+    private final Path manifestFile;
+    private final Map<String, String> previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+
+    private OutputManifest(Path outputDir, Map<String, String> previous) {
+        this.outputDir = outputDir;
+        this.manifestFile = outputDir.resolve(FILENAME);
+        this.previous = previous;
+    }
+
+    /**
+     * Load the manifest of the previous run, or start an empty one.
+     */
+    public static OutputManifest load(Path outputDir) throws IOException {
+        Path normalized = outputDir.toAbsolutePath().normalize();
+        Map<String, String> previous = new HashMap<>();
+
+        Path manifestFile = normalized.resolve(FILENAME);
+        if (Files.exists(manifestFile)) {
+            for (String line : Files.readAllLines(manifestFile, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf("  ");
+                if (separator > 0) {
+                    previous.put(line.substring(separator + 2), line.substring(0, separator));
+                }
+            }
+        }
+
+        return new OutputManifest(normalized, previous);
+    }
+
+    /**
+     * Whether a file with this content hash (see {@link #hash(byte[])}) is already on disk
+     * from the previous run, so it does not need to be written. Does not record the file.
+     */
+    public boolean isUnchanged(String path, String hash) {
+        String relativePath = relativize(path);
+        return relativePath != null && hash.equals(previous.get(relativePath))
+            && Files.exists(outputDir.resolve(relativePath));
+    }
+
+    /**
+     * Record a file that is on disk with this content hash (written, or found unchanged).
+     */
+    public void recordHash(String path, String hash) {
+        String relativePath = relativize(path);
+        if (relativePath != null) {
+            current.put(relativePath, hash);
+        }
+    }
+
+    /**
+     * Record a file written by someone else (e.g. the DefaultGenerator write path).
+     */
+    public void record(String path, byte[] content) {
+        recordHash(path, hash(content));
+    }
+
+    /**
+     * Forget a file that was recorded but ended up not being generated.
+     */
+    public void remove(String path) {
+        String relativePath = relativize(path);
+        if (relativePath != null) {
+            current.remove(relativePath);
+        }
+    }
+
+    /**
+     * Files listed in the previous manifest that were not generated in this run.
+     */
+    public List<String> getOrphans() {
+        List<String> orphans = new ArrayList<>();
+        for (String path : previous.keySet()) {
+            if (!current.containsKey(path)) {
+                orphans.add(path);
+            }
+        }
+        Collections.sort(orphans);
+        return orphans;
+    }
+
+    /**
+     * Delete orphaned files. Returns the paths that were deleted.
+     * Paths that resolve outside the output directory are skipped with a warning.
+     */
+    public List<String> pruneOrphans() throws IOException {
+        List<String> deleted = new ArrayList<>();
+        for (String orphan : getOrphans()) {
+            Path file = outputDir.resolve(orphan).normalize();
+            if (!file.startsWith(outputDir) || file.equals(outputDir)) {
+                LOGGER.warn("Not deleting orphan outside the output directory: " + orphan);
+                continue;
+            }
+            if (Files.deleteIfExists(file)) {
+                deleted.add(orphan);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Write the manifest for this run.
+     */
+    public void save() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, String> entry : new TreeMap<>(current).entrySet()) {
+            content.append(entry.getValue()).append("  ").append(entry.getKey()).append('\n');
+        }
+        Files.createDirectories(outputDir);
+        Files.write(manifestFile, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Path relative to the output directory, or null if it is not inside of it
+     */
+    private String relativize(String path) {
+        Path absolute = Path.of(path).toAbsolutePath().normalize();
+        if (!absolute.startsWith(outputDir) || absolute.equals(outputDir)) {
+            return null;
+        }
+        return outputDir.relativize(absolute).toString().replace('\\', '/');
+    }
+
+    /**
+     * Digest matching the hashes stored in the manifest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Hash of content, as stored in the manifest
+     */
+    public static String hash(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * Hash of content that was digested while it was streamed (see {@link #newDigest()})
+     */
+    public static String toHex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
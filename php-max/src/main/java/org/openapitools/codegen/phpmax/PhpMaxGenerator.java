@@ -3,11 +3,24 @@ package org.openapitools.codegen.phpmax;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.model.*;
 import org.openapitools.codegen.languages.AbstractPhpCodegen;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.phpcommon.BatchPostProcessor;
+import org.openapitools.codegen.phpcommon.NamingCache;
+import org.openapitools.codegen.phpcommon.OperationCondition;
+import org.openapitools.codegen.phpcommon.SplitMarkerWriter;
+import org.openapitools.codegen.phpcommon.TemplateContext;
+import org.openapitools.codegen.phpcommon.TemplateIndex;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.io.File;
 import java.io.IOException;
 import org.slf4j.Logger;
@@ -46,6 +59,24 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
     public static final String RESPONSE_PACKAGE = "responsePackage";
     public static final String SECURITY_PACKAGE = "securityPackage";
     public static final String SRC_BASE_PATH = "srcBasePath";
+    public static final String TEMPLATE_CACHE_SIZE = "templateCacheSize";
+    public static final String RENDER_PARALLELISM = "renderParallelism";
+    public static final String MODEL_PARALLELISM = "modelParallelism";
+    public static final String ASYNC_WRITER_THREADS = "asyncWriterThreads";
+    public static final String ASYNC_WRITER_BUFFER_MB = "asyncWriterBufferMb";
+    public static final String FSYNC_OUTPUT = "fsyncOutput";
+    public static final String OUTPUT_MANIFEST = "outputManifest";
+    public static final String PRUNE_ORPHANS = "pruneOrphans";
+    public static final String STREAMING_RENDER = "streamingRender";
+    public static final String STREAMING_GENERATION = "streamingGeneration";
+    public static final String HEAP_BUDGET_MB = "heapBudgetMb";
+    public static final String SPLIT_MARKERS = "splitMarkers";
+    public static final String OPERATION_TAGS = "operationTags";
+    public static final String PREFIX_OPERATION_TAGS = "prefixOperationTags";
+    public static final String BATCH_POST_PROCESS = "batchPostProcess";
+    public static final String POST_PROCESS_BATCH_SIZE = "postProcessBatchSize";
+    public static final String POST_PROCESS_PARALLELISM = "postProcessParallelism";
+    public static final String METRICS_REPORT = "metricsReport";
 
     // Configurable namespaces (set via additionalProperties or derived from invokerPackage)
     protected String controllerPackage;
@@ -58,11 +89,72 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
     // Security schemes extracted from OpenAPI spec
     protected List<Map<String, Object>> securitySchemes = new ArrayList<>();
 
-    // Track operations for routes generation
+    // Operations waiting for their per-operation files (cleared once they are written)
     protected Map<String, CodegenOperation> allOperationsMap = new LinkedHashMap<>();
+    // Route projections of all operations, published as allOperations
+    protected Map<String, RouteDescriptor> routeDescriptors = new LinkedHashMap<>();
+    protected boolean operationsFinalized = false;
 
     // Per-operation template configuration
     protected List<OperationTemplateConfig> operationTemplateFiles = new ArrayList<>();
+    // Compiled conditions for shouldGenerateOperationFile(op, String)
+    private final Map<String, OperationCondition> conditionCache = new ConcurrentHashMap<>();
+
+    // Templates available to this run (custom -t directory over embedded), built in processOpts
+    protected TemplateIndex templateIndex;
+
+    // Compiled templates and resolved partials, reused for the whole run
+    protected TemplateCache templateCache = new TemplateCache();
+    protected com.samskivert.mustache.Mustache.Compiler mustacheCompiler;
+    // Variable accessors shared by all templates of this run (DefaultGenerator and per-operation)
+    protected final CachedAccessorCollector accessorCollector = new CachedAccessorCollector();
+    // toModelName, camelize and enum case names already computed in this run
+    protected final NamingCache namingCache = new NamingCache();
+
+    // Number of threads rendering per-operation files (1 = serial)
+    protected int renderParallelism = 1;
+    protected ForkJoinPool renderPool;
+    // Names the files streamed next to their targets apart
+    private final AtomicLong streamedFileCount = new AtomicLong();
+
+    // Number of threads post-processing models (1 = serial, each model in postProcessModels)
+    protected int modelParallelism = 1;
+
+    // Output sink for per-operation files (null = write on the rendering thread)
+    protected AsyncFileWriter asyncWriter;
+
+    // Render per-operation files straight into the output files instead of into Strings
+    protected boolean streamingRender = false;
+    protected boolean fsyncOutput = false;
+
+    // Bounded-memory generation: per-operation files are written per tag and the core's
+    // copy of each written tag is reduced to route data (see compactOperations)
+    protected boolean streamingGeneration = false;
+    protected final Set<String> writtenOperationIds = new HashSet<>();
+    protected OperationsMap uncompactedOperations;
+    protected HeapBudget heapBudget = new HeapBudget(0);
+    private boolean heapBudgetWarned = false;
+
+    // Split output at ---SPLIT:name--- markers into separate files (see SplitMarkerWriter)
+    protected boolean splitMarkers = false;
+
+    // Operation tag rewrite applied to the parsed spec in preprocessOpenAPI
+    protected OperationTagTransform operationTagTransform = new OperationTagTransform(OperationTagTransform.MODE_KEEP, false);
+
+    // Collects files for batched PHP_POST_PROCESS_FILE calls (null = one call per file, by the core)
+    protected BatchPostProcessor batchPostProcessor;
+
+    // Output directories already created during this run
+    protected Set<String> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    // Content hashes of generated files, used to skip unchanged writes (null = disabled)
+    protected OutputManifest outputManifest;
+
+    // Phase timings and counters (recording is a no-op unless metricsReport is set)
+    protected GenerationMetrics metrics = new GenerationMetrics(false);
+
+    // Templating engine for DefaultGenerator-driven files (models, APIs, supporting files)
+    protected PhpMaxTemplatingEngine phpMaxTemplatingEngine;
 
     /**
      * Configuration for per-operation file generation
@@ -71,17 +163,57 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         public String templateName;
         public String folder;
         public String suffix;
-        public String condition; // null, "hasBodyParam", "hasQueryParams", etc.
+        public String condition; // null, "hasBodyParam", "isGet || isDelete", etc. (see OperationCondition)
+
+        // Compiled form of condition, recompiled if condition is reassigned
+        private String compiledFrom;
+        private OperationCondition compiledCondition;
 
         public OperationTemplateConfig(String templateName, String folder, String suffix) {
             this(templateName, folder, suffix, null);
         }
 
+        /**
+         * @throws IllegalArgumentException if the condition is malformed
+         */
         public OperationTemplateConfig(String templateName, String folder, String suffix, String condition) {
             this.templateName = templateName;
             this.folder = folder;
             this.suffix = suffix;
             this.condition = condition;
+            getCompiledCondition();
+        }
+
+        public OperationCondition getCompiledCondition() {
+            if (compiledCondition == null || compiledFrom != condition) {
+                compiledCondition = OperationCondition.compile(condition);
+                compiledFrom = condition;
+            }
+            return compiledCondition;
+        }
+    }
+
+    /**
+     * Result of rendering a per-operation template, written later in operation order
+     */
+    public static class RenderedFile {
+        public final String path;
+        public final String templateName;
+        public String content;   // null if the template was not found
+        public Exception error;  // set if rendering failed
+        public Exception writeError;        // set if a streamed file could not be written
+        public boolean streamed;            // already written to disk while rendering
+        public boolean skippedEmpty;        // streamed output was whitespace-only, nothing written
+        public boolean skippedUnchanged;    // streamed output matched the manifest, file kept as is
+        public long bytesWritten;           // size of a streamed file
+        public java.nio.file.Path streamedTo; // streamed next to the target, moved into place by writeRenderedFile
+        public String hash;                 // manifest hash of a file streamed next to its target
+        public int splitSections = -1;      // output was split into this many sections
+        public Map<String, String> sections; // split sections by output path, in marker order
+
+        public RenderedFile(String path, String templateName) {
+            this.path = path;
+            this.templateName = templateName;
         }
     }
 
@@ -138,6 +270,30 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         cliOptions.add(new CliOption(REQUEST_PACKAGE, "Package for request DTOs"));
         cliOptions.add(new CliOption(RESPONSE_PACKAGE, "Package for response DTOs"));
         cliOptions.add(new CliOption(SECURITY_PACKAGE, "Package for security classes"));
+        cliOptions.add(new CliOption(TEMPLATE_CACHE_SIZE, "Maximum number of compiled templates kept per run (default: "
+            + TemplateCache.DEFAULT_MAX_ENTRIES + ")"));
+        cliOptions.add(new CliOption(RENDER_PARALLELISM, "Number of threads rendering per-operation files (default: 1, serial)"));
+        cliOptions.add(new CliOption(MODEL_PARALLELISM, "Number of threads post-processing models (default: 1, serial)"));
+        cliOptions.add(new CliOption(ASYNC_WRITER_THREADS, "Number of background threads writing generated files (default: 0, write inline)"));
+        cliOptions.add(new CliOption(ASYNC_WRITER_BUFFER_MB, "Maximum MB of rendered content queued for background writers (default: "
+            + AsyncFileWriter.DEFAULT_BUFFER_MB + ")"));
+        cliOptions.add(CliOption.newBoolean(FSYNC_OUTPUT, "fsync each file written by the background writers or the streaming renderer", false));
+        cliOptions.add(CliOption.newBoolean(OUTPUT_MANIFEST, "Keep a content-hash manifest (" + OutputManifest.FILENAME
+            + ") and skip writing unchanged files", false));
+        cliOptions.add(CliOption.newBoolean(PRUNE_ORPHANS, "Delete files listed in the manifest that are no longer generated", false));
+        cliOptions.add(new CliOption(METRICS_REPORT, "Write phase timings and counters of the run as JSON to this file"));
+        cliOptions.add(CliOption.newBoolean(STREAMING_RENDER, "Render per-operation files straight into the output files with constant memory per file", false));
+        cliOptions.add(CliOption.newBoolean(STREAMING_GENERATION, "Write per-operation files tag by tag and release each tag's operations once emitted (bounded memory)", false));
+        cliOptions.add(CliOption.newBoolean(SPLIT_MARKERS, "Split generated files at ---SPLIT:name--- markers into one file per section", false));
+        cliOptions.add(new CliOption(OPERATION_TAGS, "Rewrite operation tags before grouping: keep, operationId (one tag per operation) or none (default: keep)")
+            .addEnum(OperationTagTransform.MODE_KEEP, "Keep the tags of the spec")
+            .addEnum(OperationTagTransform.MODE_OPERATION_ID, "Tag each operation with its operationId")
+            .addEnum(OperationTagTransform.MODE_NONE, "Remove all operation tags"));
+        cliOptions.add(CliOption.newBoolean(BATCH_POST_PROCESS, "Run PHP_POST_PROCESS_FILE once on all generated files (or in batches) instead of once per file", false));
+        cliOptions.add(new CliOption(POST_PROCESS_BATCH_SIZE, "With batchPostProcess, files per post-processor call (default: all files)"));
+        cliOptions.add(new CliOption(POST_PROCESS_PARALLELISM, "With batchPostProcess, post-processor calls running in parallel (default: 1)"));
+        cliOptions.add(CliOption.newBoolean(PREFIX_OPERATION_TAGS, "Prefix operation tags with the spec title and version ({title}_{version}_{tag})", false));
+        cliOptions.add(new CliOption(HEAP_BUDGET_MB, "Live heap in MB above which streaming generation switches to streamingRender and inline writes (default: 0, no budget)"));
 
         // Reserve common PHP keywords
         reservedWords.addAll(Arrays.asList(
@@ -180,6 +336,14 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
     public void processOpts() {
         super.processOpts();
 
+        // Phase metrics, reported in postProcess
+        if (additionalProperties.containsKey(METRICS_REPORT)) {
+            metrics = new GenerationMetrics(true);
+            if (phpMaxTemplatingEngine != null) {
+                phpMaxTemplatingEngine.setMetrics(metrics);
+            }
+        }
+
         // Enable post-process file hook to delete empty files
         // This allows empty templates to produce no output files
         this.enablePostProcessFile = true;
@@ -228,6 +392,64 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
             srcBasePath = (String) additionalProperties.get(SRC_BASE_PATH);
         }
 
+        // A fresh compiled template cache for this run (templates may differ between runs)
+        templateCache = new TemplateCache(getIntProperty(TEMPLATE_CACHE_SIZE, TemplateCache.DEFAULT_MAX_ENTRIES, 1));
+
+        // Per-operation rendering threads
+        renderParallelism = getIntProperty(RENDER_PARALLELISM, 1, 1);
+
+        // Model post-processing threads
+        modelParallelism = getIntProperty(MODEL_PARALLELISM, 1, 1);
+
+        // Streaming per-operation rendering
+        streamingRender = getBooleanProperty(STREAMING_RENDER, false);
+        fsyncOutput = getBooleanProperty(FSYNC_OUTPUT, false);
+
+        // Bounded-memory generation
+        streamingGeneration = getBooleanProperty(STREAMING_GENERATION, false);
+        heapBudget = new HeapBudget(getIntProperty(HEAP_BUDGET_MB, 0, 0));
+
+        // Marker-based file splitting
+        splitMarkers = getBooleanProperty(SPLIT_MARKERS, false);
+        if (phpMaxTemplatingEngine != null) {
+            phpMaxTemplatingEngine.setSplitMarkers(splitMarkers);
+        }
+
+        // Operation tag rewrite (replaces the set-operation-tags.sh / remove-tags.sh preprocessing)
+        operationTagTransform = new OperationTagTransform(
+            additionalProperties.getOrDefault(OPERATION_TAGS, OperationTagTransform.MODE_KEEP).toString().trim(),
+            getBooleanProperty(PREFIX_OPERATION_TAGS, false));
+
+        // Batched external post-processing
+        String postProcessCommand = System.getenv("PHP_POST_PROCESS_FILE");
+        if (getBooleanProperty(BATCH_POST_PROCESS, false) && postProcessCommand != null && !postProcessCommand.trim().isEmpty()) {
+            batchPostProcessor = new BatchPostProcessor(postProcessCommand,
+                getIntProperty(POST_PROCESS_BATCH_SIZE, 0, 1), getIntProperty(POST_PROCESS_PARALLELISM, 1, 1));
+        }
+
+        // Background writers for generated files
+        int writerThreads = getIntProperty(ASYNC_WRITER_THREADS, 0, 0);
+        if (writerThreads > 0) {
+            asyncWriter = new AsyncFileWriter(
+                writerThreads,
+                getIntProperty(ASYNC_WRITER_BUFFER_MB, AsyncFileWriter.DEFAULT_BUFFER_MB, 1),
+                fsyncOutput
+            );
+        }
+
+        // Content-hash manifest of the previous run
+        if (getBooleanProperty(OUTPUT_MANIFEST, false)) {
+            try {
+                outputManifest = OutputManifest.load(java.nio.file.Paths.get(outputFolder));
+            } catch (IOException e) {
+                LOGGER.warn("Could not read " + OutputManifest.FILENAME + ", regenerating all files: " + e.getMessage());
+                outputManifest = null;
+            }
+        }
+
+        // Naming options (prefixes, suffixes, mappings) are final from here on
+        namingCache.clear();
+
         // Make namespaces available to templates
         additionalProperties.put("controllerPackage", controllerPackage);
         additionalProperties.put("handlerPackage", handlerPackage);
@@ -236,6 +458,9 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         additionalProperties.put("securityPackage", securityPackage);
         additionalProperties.put("srcBasePath", srcBasePath);
 
+        // Index the custom and embedded templates once; all lookups are served from the index
+        templateIndex = TemplateIndex.build(getCustomTemplateDir(), embeddedTemplateDir, getClass().getClassLoader());
+
         // Try to load files.json configuration from template directory
         loadFilesConfig();
 
@@ -252,6 +477,73 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         }
     }
 
+    /**
+     * Use the php-max Mustache engine for files written by DefaultGenerator,
+     * so postProcessFile can see the rendered content.
+     */
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        if (engine instanceof MustacheEngineAdapter && !(engine instanceof PhpMaxTemplatingEngine)) {
+            phpMaxTemplatingEngine = new PhpMaxTemplatingEngine((MustacheEngineAdapter) engine);
+            phpMaxTemplatingEngine.setSplitMarkers(splitMarkers);
+            setTemplatingEngine(phpMaxTemplatingEngine);
+            return phpMaxTemplatingEngine;
+        }
+        return engine;
+    }
+
+    /**
+     * DefaultGenerator compiles every file's template anew; share resolved variable accessors between them.
+     */
+    @Override
+    public com.samskivert.mustache.Mustache.Compiler processCompiler(com.samskivert.mustache.Mustache.Compiler compiler) {
+        return super.processCompiler(compiler).withCollector(accessorCollector);
+    }
+
+    /**
+     * With the output manifest enabled, DefaultGenerator also leaves unchanged files untouched.
+     * This is read before processOpts, so the option is taken directly from additionalProperties.
+     */
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        return super.isEnableMinimalUpdate() || getBooleanProperty(OUTPUT_MANIFEST, false);
+    }
+
+    /**
+     * Read an integer option from additionalProperties
+     *
+     * @throws IllegalArgumentException naming the option if the value is not an integer
+     *                                  or is below minimum
+     */
+    protected int getIntProperty(String name, int defaultValue, int minimum) {
+        Object value = additionalProperties.get(name);
+        if (value == null || value.toString().trim().isEmpty()) {
+            return defaultValue;
+        }
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": '" + value + "' is not an integer", e);
+        }
+        if (parsed < minimum) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + parsed + " (must be at least " + minimum + ")");
+        }
+        return parsed;
+    }
+
+    /**
+     * Read a boolean option from additionalProperties
+     */
+    protected boolean getBooleanProperty(String name, boolean defaultValue) {
+        Object value = additionalProperties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
     /**
      * Get the custom template directory (set via -t flag or additionalProperties)
      */
@@ -359,12 +651,16 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         }
 
         String folder = config.folder != null && !config.folder.isEmpty() ? config.folder : defaultFolder;
-        operationTemplateFiles.add(new OperationTemplateConfig(
-            config.template,
-            folder,
-            config.suffix,
-            config.condition
-        ));
+        try {
+            operationTemplateFiles.add(new OperationTemplateConfig(
+                config.template,
+                folder,
+                config.suffix,
+                config.condition
+            ));
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid condition for " + configKey + " template " + config.template + ", template disabled: " + e.getMessage());
+        }
     }
 
     /**
@@ -430,35 +726,43 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
      * Check if a template file exists in the template directory
      */
     protected boolean templateExists(String templateName) {
-        // Check in custom template dir first (set via -t flag)
-        String customTemplateDir = getCustomTemplateDir();
-        if (customTemplateDir != null) {
-            File customTemplate = new File(customTemplateDir, templateName);
-            if (customTemplate.exists()) {
-                return true;
-            }
-        }
-
-        // Check in embedded templates
-        return embeddedTemplateExists(templateName);
+        // Custom template dir (set via -t flag) or embedded templates
+        return getTemplateIndex().contains(templateName);
     }
 
     /**
      * Check if an embedded template exists
      */
     protected boolean embeddedTemplateExists(String templateName) {
-        try {
-            String fullPath = embeddedTemplateDir + "/" + templateName;
-            return this.getClass().getClassLoader().getResource(fullPath) != null;
-        } catch (Exception e) {
-            return false;
+        return getTemplateIndex().containsEmbedded(templateName);
+    }
+
+    /**
+     * Template index of this run; built on first use if processOpts has not run yet
+     */
+    protected TemplateIndex getTemplateIndex() {
+        if (templateIndex == null) {
+            templateIndex = TemplateIndex.build(getCustomTemplateDir(), embeddedTemplateDir, getClass().getClassLoader());
         }
+        return templateIndex;
     }
 
     @Override
     public void preprocessOpenAPI(OpenAPI openAPI) {
+        long start = metrics.start();
         super.preprocessOpenAPI(openAPI);
+
+        if (operationTagTransform.isEnabled()) {
+            long transformStart = metrics.start();
+            int retagged = operationTagTransform.apply(openAPI);
+            metrics.record(GenerationMetrics.TRANSFORM_OPERATION_TAGS, transformStart);
+            LOGGER.info("Rewrote the tags of " + retagged + " operations");
+        }
+
+        long extractStart = metrics.start();
         extractSecuritySchemes(openAPI);
+        metrics.record(GenerationMetrics.EXTRACT_SECURITY_SCHEMES, extractStart);
+        metrics.record(GenerationMetrics.PREPROCESS_OPENAPI, start);
     }
 
     // ============================================================================
@@ -539,28 +843,83 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
 
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        long start = metrics.start();
         ModelsMap result = super.postProcessModels(objs);
 
-        for (ModelMap modelMap : result.getModels()) {
-            CodegenModel model = modelMap.getModel();
+        // With modelParallelism > 1 all models are processed together, see postProcessAllModels()
+        if (modelParallelism <= 1) {
+            for (ModelMap modelMap : result.getModels()) {
+                processModel(modelMap.getModel());
+            }
+        }
+
+        metrics.record(GenerationMetrics.POST_PROCESS_MODELS, start);
+        return result;
+    }
 
-            // Detect if this is an enum
-            if (model.isEnum) {
-                model.vendorExtensions.put("x-is-php-enum", true);
-                processEnumModel(model);
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        if (modelParallelism > 1) {
+            long start = metrics.start();
+            List<CodegenModel> models = new ArrayList<>();
+            for (ModelsMap modelsMap : objs.values()) {
+                for (ModelMap modelMap : modelsMap.getModels()) {
+                    models.add(modelMap.getModel());
+                }
             }
+            processModels(models);
+            metrics.record(GenerationMetrics.POST_PROCESS_MODELS, start);
+        }
+        return super.postProcessAllModels(objs);
+    }
+
+    /**
+     * Post-process independent models on modelParallelism threads.
+     *
+     * Each model only changes its own vendorExtensions and property order, so the result does
+     * not depend on the processing order. Properties the core shares between models get
+     * equivalent flag views (see {@link ComputedFlags#install(CodegenProperty)}).
+     */
+    protected void processModels(List<CodegenModel> models) {
+        if (modelParallelism <= 1 || models.size() < 2) {
+            models.forEach(this::processModel);
+            return;
+        }
 
-            // Enrich each property with constraint flags for templates
-            for (CodegenProperty prop : model.vars) {
-                enrichPropertyConstraints(prop);
+        ForkJoinPool pool = new ForkJoinPool(modelParallelism);
+        try {
+            pool.submit(() -> models.parallelStream().forEach(this::processModel)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while post-processing models", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-            // Sort properties: required params first, then optional
-            // This prevents PHP deprecation warnings about optional params before required
-            sortPropertiesByRequired(model);
+    /**
+     * Enum cases, property constraint flags and property order of one model
+     */
+    protected void processModel(CodegenModel model) {
+        // Detect if this is an enum
+        if (model.isEnum) {
+            model.vendorExtensions.put("x-is-php-enum", true);
+            processEnumModel(model);
         }
 
-        return result;
+        // Enrich each property with constraint flags for templates
+        for (CodegenProperty prop : model.vars) {
+            enrichPropertyConstraints(prop);
+        }
+
+        // Sort properties: required params first, then optional
+        // This prevents PHP deprecation warnings about optional params before required
+        sortPropertiesByRequired(model);
     }
 
     /**
@@ -596,10 +955,21 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
             @SuppressWarnings("unchecked")
             List<Object> values = (List<Object>) model.allowableValues.get("values");
 
+            Set<String> usedNames = new HashSet<>(values.size() * 2);
             for (Object value : values) {
                 String stringValue = String.valueOf(value);
                 String caseName = toEnumCaseName(stringValue);
 
+                // Distinct values can map to the same case name ("a-b", "a_b", "A B")
+                if (!usedNames.add(caseName)) {
+                    String baseName = caseName;
+                    for (int n = 2; !usedNames.add(caseName); n++) {
+                        caseName = baseName + "_" + n;
+                    }
+                    LOGGER.warn("Enum " + model.name + ": case name " + baseName + " of value '" + stringValue
+                        + "' is already used, renamed to " + caseName);
+                }
+
                 Map<String, Object> enumCase = new HashMap<>();
                 enumCase.put("name", caseName);
                 enumCase.put("value", stringValue);
@@ -612,68 +982,19 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
     }
 
     /**
-     * Convert enum value to valid PHP enum case name (SCREAMING_SNAKE_CASE)
+     * Convert enum value to valid PHP enum case name (SCREAMING_SNAKE_CASE), see {@link NamingCache#enumCaseName(String)}
      */
     protected String toEnumCaseName(String value) {
-        if (value == null || value.isEmpty()) {
-            return "EMPTY";
-        }
-
-        // Handle numeric values
-        if (value.matches("^-?\\d+.*")) {
-            return "VALUE_" + value.replaceAll("[^a-zA-Z0-9]", "_").toUpperCase();
-        }
-
-        // Convert to SCREAMING_SNAKE_CASE, replacing non-alphanumeric chars
-        String result = value.replaceAll("[^a-zA-Z0-9]+", "_").toUpperCase();
-
-        // Clean up leading/trailing underscores and multiple consecutive underscores
-        String caseName = result.replaceAll("^_+|_+$", "").replaceAll("_+", "_");
-
-        if (caseName.isEmpty()) {
-            caseName = "VALUE";
-        }
-
-        return caseName;
+        return namingCache.enumCaseName(value, NamingCache::enumCaseName);
     }
 
     /**
      * Enrich property with constraint flags for template use.
      * Templates use these raw values to generate framework-specific validation.
+     * The flags are computed when a template reads them, see {@link ComputedFlags}.
      */
     protected void enrichPropertyConstraints(CodegenProperty prop) {
-        // Ensure constraint values are available as template variables
-        // Most are already set by OpenAPI Generator, but we add convenience flags
-
-        // Format-based flags (for validation) - set via vendor extensions
-        // isEmail and isUuid are already set by OpenAPI Generator based on format
-
-        // Additional format flags
-        prop.vendorExtensions.put("isUrl", "url".equals(prop.dataFormat) || "uri".equals(prop.dataFormat));
-        prop.vendorExtensions.put("isDate", "date".equals(prop.dataFormat));
-        prop.vendorExtensions.put("isDateTime", "date-time".equals(prop.dataFormat));
-        prop.vendorExtensions.put("isIpAddress", "ipv4".equals(prop.dataFormat) || "ipv6".equals(prop.dataFormat) || "ip".equals(prop.dataFormat));
-
-        // Constraint presence flags (for cleaner template conditionals)
-        prop.vendorExtensions.put("hasMinLength", prop.minLength != null);
-        prop.vendorExtensions.put("hasMaxLength", prop.maxLength != null);
-        prop.vendorExtensions.put("hasMinimum", prop.minimum != null);
-        prop.vendorExtensions.put("hasMaximum", prop.maximum != null);
-        prop.vendorExtensions.put("hasPattern", prop.pattern != null && !prop.pattern.isEmpty());
-        prop.vendorExtensions.put("hasMinItems", prop.minItems != null);
-        prop.vendorExtensions.put("hasMaxItems", prop.maxItems != null);
-
-        // Enum handling
-        if (prop.isEnum && prop.allowableValues != null) {
-            @SuppressWarnings("unchecked")
-            List<Object> enumValues = (List<Object>) prop.allowableValues.get("values");
-            if (enumValues != null) {
-                // Provide enum values as comma-separated string for Laravel 'in:' rule
-                prop.vendorExtensions.put("enumValuesString", String.join(",",
-                    enumValues.stream().map(String::valueOf).toArray(String[]::new)));
-                prop.vendorExtensions.put("enumValues", enumValues);
-            }
-        }
+        ComputedFlags.install(prop);
     }
 
     // ============================================================================
@@ -682,18 +1003,29 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
 
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        long start = metrics.start();
+        if (streamingGeneration) {
+            // The core has written the previous tag's API file by now
+            compactOperations(uncompactedOperations);
+        }
         OperationsMap result = super.postProcessOperationsWithModels(objs, allModels);
 
         OperationMap ops = result.getOperations();
         List<CodegenOperation> opList = ops.getOperation();
 
         for (CodegenOperation op : opList) {
-            // Collect operation for routes generation
-            allOperationsMap.put(op.operationId, op);
+            // Collect operation for per-operation files (written right away when streaming).
+            // An operation listed under several tags keeps its first tag's copy in both modes
+            if (!streamingGeneration) {
+                allOperationsMap.putIfAbsent(op.operationId, op);
+            }
 
             // Enrich operation with convenience flags
             enrichOperation(op);
 
+            // Keep only the route projection for supporting templates
+            routeDescriptors.computeIfAbsent(op.operationId, id -> RouteDescriptor.of(op));
+
             // Enrich parameters with constraint flags
             if (op.allParams != null) {
                 for (CodegenParameter param : op.allParams) {
@@ -709,16 +1041,137 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
             }
         }
 
-        // Make all operations available for routes template
-        additionalProperties.put("allOperations", new ArrayList<>(allOperationsMap.values()));
-        additionalProperties.put("hasOperations", !allOperationsMap.isEmpty());
+        // allOperations and per-operation files are produced once all tags are collected,
+        // see finalizeOperations(); streaming generation writes the files of each tag here
+        metrics.record(GenerationMetrics.POST_PROCESS_OPERATIONS, start);
+        if (streamingGeneration) {
+            writeTagOperationFiles(result);
+        }
+        return result;
+    }
+
+    // ============================================================================
+    // STREAMING GENERATION
+    // ============================================================================
+
+    /**
+     * Write the per-operation files of one tag (operations listed under an earlier tag were
+     * written from that tag's copy and are skipped) and check the heap budget. The tag is
+     * compacted when the next tag arrives.
+     */
+    protected void writeTagOperationFiles(OperationsMap tag) {
+        List<CodegenOperation> pending = new ArrayList<>();
+        for (CodegenOperation op : tag.getOperations().getOperation()) {
+            if (writtenOperationIds.add(op.operationId)) {
+                pending.add(op);
+            }
+        }
+        if (!operationTemplateFiles.isEmpty() && !pending.isEmpty()) {
+            long start = metrics.start();
+            writeOperationFiles(pending);
+            metrics.record(GenerationMetrics.WRITE_OPERATION_FILES, start);
+        }
+        uncompactedOperations = tag;
+        checkHeapBudget(tag.getOperations().getClassname());
+    }
+
+    /**
+     * Replace the operations of an emitted tag with route-only copies.
+     *
+     * DefaultGenerator keeps every tag's OperationsMap until the supporting files are written;
+     * after this, the full operations (parameters, responses, body models) are only reachable
+     * from tags that still need them. Supporting templates iterating apiInfo get the same
+     * route data as allOperations.
+     */
+    protected void compactOperations(OperationsMap tag) {
+        if (tag == null) {
+            return;
+        }
+        uncompactedOperations = null;
+
+        OperationMap operationMap = tag.getOperations();
+        List<CodegenOperation> routes = new ArrayList<>(operationMap.getOperation().size());
+        for (CodegenOperation op : operationMap.getOperation()) {
+            RouteDescriptor route = routeDescriptors.get(op.operationId);
+            routes.add(route != null ? toRouteOperation(route, op) : op);
+        }
+        operationMap.setOperation(routes);
+    }
+
+    /**
+     * Operation carrying only the data of its route descriptor
+     */
+    protected CodegenOperation toRouteOperation(RouteDescriptor route, CodegenOperation op) {
+        CodegenOperation routeOp = new CodegenOperation();
+        routeOp.operationId = route.operationId;
+        routeOp.nickname = op.nickname;
+        routeOp.httpMethod = route.httpMethod;
+        routeOp.path = route.path;
+        routeOp.summary = route.summary;
+        routeOp.notes = route.notes;
+        routeOp.baseName = op.baseName;
+        routeOp.authMethods = route.authMethods;
+        routeOp.hasAuthMethods = route.hasAuthMethods;
+        routeOp.vendorExtensions = new HashMap<>(route.vendorExtensions);
+        return routeOp;
+    }
+
+    /**
+     * Record the live heap after a tag. Above heapBudgetMb, the remaining tags are rendered
+     * straight into their files and queued background writes are flushed, so neither rendered
+     * content nor the write queue is held in memory from here on.
+     */
+    protected void checkHeapBudget(String tag) {
+        if (heapBudget.check() && !heapBudgetWarned) {
+            heapBudgetWarned = true;
+            LOGGER.warn("Live heap " + heapBudget.liveHeapBytes() / (1024 * 1024) + " MB after tag " + tag
+                + " is above heapBudgetMb (" + heapBudget.getBudgetBytes() / (1024 * 1024) + " MB); "
+                + "switching to streamingRender and writing files inline");
+            streamingRender = true;
+            flushOutput();
+        }
+    }
+
+    @Override
+    public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+        if (streamingGeneration) {
+            compactOperations(uncompactedOperations);
+        }
+        finalizeOperations();
+
+        // The supporting file bundle is a copy of additionalProperties taken before this call
+        objs.put("allOperations", additionalProperties.get("allOperations"));
+        objs.put("hasOperations", additionalProperties.get("hasOperations"));
+
+        return super.postProcessSupportingFileData(objs);
+    }
+
+    /**
+     * Finalize phase, run once after every tag has been processed.
+     *
+     * Publishes a single immutable list of route descriptors of all operations (for routes
+     * and other supporting templates) and then generates the per-operation files, so every
+     * template sees the complete operation set. Operations listed under several tags are
+     * written once, from the copy of the first tag, as streaming generation does. The generator drops its references to the full operations afterwards.
+     */
+    protected void finalizeOperations() {
+        if (operationsFinalized) {
+            return;
+        }
+        operationsFinalized = true;
+
+        List<RouteDescriptor> routes = Collections.unmodifiableList(new ArrayList<>(routeDescriptors.values()));
+        additionalProperties.put("allOperations", routes);
+        additionalProperties.put("hasOperations", !routes.isEmpty());
 
         // Generate per-operation files
+        List<CodegenOperation> pending = new ArrayList<>(allOperationsMap.values());
+        allOperationsMap.clear();
         if (!operationTemplateFiles.isEmpty()) {
-            writeOperationFiles(opList);
+            long start = metrics.start();
+            writeOperationFiles(pending);
+            metrics.record(GenerationMetrics.WRITE_OPERATION_FILES, start);
         }
-
-        return result;
     }
 
     // ============================================================================
@@ -727,59 +1180,129 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
 
     /**
      * Write per-operation files (controllers, requests, resources, etc.)
+     *
+     * With renderParallelism > 1 the templates are rendered concurrently, but files are
+     * written and logged on the calling thread in operation order, so the output and the
+     * log are identical to a serial run. At most renderParallelism * 2 renders are submitted
+     * ahead of the file being written.
+     *
+     * In a serial run, entries of a mutable list are set to null once their files are
+     * written, releasing each operation as soon as it is done.
      */
     protected void writeOperationFiles(List<CodegenOperation> operations) {
+        if (renderParallelism <= 1) {
+            for (ListIterator<CodegenOperation> it = operations.listIterator(); it.hasNext(); ) {
+                CodegenOperation op = it.next();
+                for (OperationTemplateConfig config : operationTemplateFiles) {
+                    // Check condition
+                    if (!shouldGenerateOperationFile(op, config)) {
+                        continue;
+                    }
+
+                    writeOperationFile(op, config);
+                }
+                release(it);
+            }
+            return;
+        }
+
+        // Each written result makes room for the next submission, so rendered content
+        // waiting to be written stays bounded
+        int window = renderParallelism * 2;
+        Deque<Future<RenderedFile>> renders = new ArrayDeque<>(window);
+        ForkJoinPool pool = getRenderPool();
         for (CodegenOperation op : operations) {
             for (OperationTemplateConfig config : operationTemplateFiles) {
-                // Check condition
-                if (!shouldGenerateOperationFile(op, config.condition)) {
-                    continue;
+                if (shouldGenerateOperationFile(op, config)) {
+                    if (renders.size() >= window) {
+                        writeRenderedFile(awaitRender(renders.poll()));
+                    }
+                    renders.add(pool.submit(() -> renderOperationFile(op, config)));
                 }
-
-                writeOperationFile(op, config);
             }
         }
+
+        // Write the remaining renders in submission order
+        while (!renders.isEmpty()) {
+            writeRenderedFile(awaitRender(renders.poll()));
+        }
     }
 
     /**
-     * Check if an operation file should be generated based on condition
+     * Drop the current entry of a list of written operations, if the list allows it
      */
-    protected boolean shouldGenerateOperationFile(CodegenOperation op, String condition) {
-        if (condition == null || condition.isEmpty()) {
-            return true;
+    private static void release(ListIterator<CodegenOperation> it) {
+        try {
+            it.set(null);
+        } catch (UnsupportedOperationException e) {
+            // Caller keeps the operations
         }
+    }
 
-        switch (condition) {
-            case "hasBodyParam":
-                return op.bodyParam != null;
-            case "hasQueryParams":
-                return op.queryParams != null && !op.queryParams.isEmpty();
-            case "hasPathParams":
-                return op.pathParams != null && !op.pathParams.isEmpty();
-            case "hasFormParams":
-                return op.formParams != null && !op.formParams.isEmpty();
-            case "hasHeaderParams":
-                return op.headerParams != null && !op.headerParams.isEmpty();
-            default:
-                // Check vendor extension
-                Object value = op.vendorExtensions.get(condition);
-                return value != null && Boolean.TRUE.equals(value);
+    /**
+     * Wait for a parallel render, rethrowing failures as they would surface in a serial run
+     */
+    private RenderedFile awaitRender(Future<RenderedFile> render) {
+        try {
+            return render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering operation files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Get the shared pool used for parallel per-operation rendering
+     */
+    protected synchronized ForkJoinPool getRenderPool() {
+        if (renderPool == null) {
+            renderPool = new ForkJoinPool(renderParallelism);
         }
+        return renderPool;
+    }
+
+    /**
+     * Check if an operation file should be generated, using the compiled condition of the template.
+     * Operations that do not qualify are never rendered.
+     */
+    protected boolean shouldGenerateOperationFile(CodegenOperation op, OperationTemplateConfig config) {
+        return config.getCompiledCondition().test(op);
+    }
+
+    /**
+     * Check if an operation file should be generated based on a condition expression
+     */
+    protected boolean shouldGenerateOperationFile(CodegenOperation op, String condition) {
+        return conditionCache.computeIfAbsent(condition != null ? condition : "", OperationCondition::compile).test(op);
     }
 
     /**
      * Write a single per-operation file
      */
     protected void writeOperationFile(CodegenOperation op, OperationTemplateConfig config) {
-        // Build the template data
-        Map<String, Object> templateData = new HashMap<>();
+        writeRenderedFile(renderOperationFile(op, config));
+    }
+
+    /**
+     * Render a single per-operation file without touching the file system or the log.
+     * Safe to call from render worker threads.
+     */
+    protected RenderedFile renderOperationFile(CodegenOperation op, OperationTemplateConfig config) {
+        // Build the per-operation layer of the template data
+        Map<String, Object> templateData = new HashMap<>(64);
 
         // Add operation data
         templateData.put("operation", op);
         templateData.put("operationId", op.operationId);
-        templateData.put("operationIdPascalCase", toModelName(op.operationId));
+        String operationClassName = toModelName(op.operationId);
+        templateData.put("operationIdPascalCase", operationClassName);
         templateData.put("operationIdCamelCase", camelize(op.operationId, true));
-        templateData.put("classname", toModelName(op.operationId) + config.suffix.replace(".php", ""));
+        templateData.put("classname", operationClassName + config.suffix.replace(".php", ""));
         templateData.put("summary", op.summary);
         templateData.put("notes", op.notes);
         templateData.put("httpMethod", op.httpMethod);
@@ -826,200 +1349,536 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         templateData.put("requestPackage", requestPackage);
         templateData.put("responsePackage", responsePackage);
 
-        // Add all additional properties
-        templateData.putAll(additionalProperties);
+        // Additional properties are a shared fallback layer, not copied per render
+        TemplateContext context = new TemplateContext(templateData, additionalProperties);
 
         // Build output path
-        String filename = toModelName(op.operationId) + config.suffix;
+        String filename = operationClassName + config.suffix;
         String folder = config.folder.replace("\\", "/");
         String outputPath = outputFolder + "/" + srcBasePath + "/" + folder + "/" + filename;
 
+        // Render the file
+        RenderedFile rendered = new RenderedFile(outputPath, config.templateName);
+        long start = metrics.start();
+        try {
+            if (streamingRender) {
+                com.samskivert.mustache.Template template = resolveTemplate(config.templateName);
+                if (template != null) {
+                    streamOperationFile(rendered, template, context);
+                }
+            } else {
+                rendered.content = renderTemplate(config.templateName, context);
+            }
+        } catch (Exception e) {
+            rendered.error = e;
+        }
+        metrics.recordRender(config.templateName, start);
+        return rendered;
+    }
+
+    /**
+     * Render a template straight into its output file.
+     *
+     * Nothing is buffered beyond the encoder and the whitespace look-ahead of StreamingFileWriter.
+     * With the output manifest enabled or renderParallelism > 1 the file is streamed into a file
+     * of its own next to its target; writeRenderedFile then moves it into place or drops it when
+     * its hash shows it is unchanged, on the calling thread in operation order. Renders that
+     * target the same path therefore never share a file, and the last one wins as in a serial run.
+     */
+    protected void streamOperationFile(RenderedFile rendered, com.samskivert.mustache.Template template,
+                                       Map<String, Object> data) {
+        if (splitMarkers) {
+            streamSplitOperationFile(rendered, template, data);
+            return;
+        }
+        java.nio.file.Path target = java.nio.file.Paths.get(rendered.path);
+        boolean nextToTarget = outputManifest != null || renderParallelism > 1;
+        java.nio.file.Path streamTarget = nextToTarget
+            ? target.resolveSibling(target.getFileName() + "." + streamedFileCount.incrementAndGet() + ".tmp") : target;
+
+        StreamingFileWriter writer = new StreamingFileWriter(streamTarget, fsyncOutput,
+            outputManifest != null ? OutputManifest.newDigest() : null);
+        try {
+            template.execute(data, writer);
+            writer.close();
+        } catch (Exception e) {
+            try {
+                writer.discard();
+            } catch (IOException ignored) {
+                // keep the original error
+            }
+            if (e instanceof IOException || e.getCause() instanceof IOException) {
+                rendered.writeError = e;
+            } else {
+                rendered.error = e;
+            }
+            return;
+        }
+
+        rendered.streamed = true;
+        rendered.bytesWritten = writer.getBytesWritten();
+        if (writer.isBlank()) {
+            rendered.skippedEmpty = true;
+            return;
+        }
+
+        if (nextToTarget) {
+            rendered.streamedTo = streamTarget;
+            rendered.hash = outputManifest != null ? OutputManifest.toHex(writer.getDigest()) : null;
+        }
+    }
+
+    /**
+     * Move a file streamed next to its target into place, or drop it when the manifest shows
+     * the target is unchanged
+     */
+    private void finishStreamedFile(RenderedFile rendered) {
+        java.nio.file.Path streamedTo = rendered.streamedTo;
+        rendered.streamedTo = null;
+        try {
+            if (rendered.hash != null && outputManifest.isUnchanged(rendered.path, rendered.hash)) {
+                java.nio.file.Files.delete(streamedTo);
+                rendered.skippedUnchanged = true;
+            } else {
+                java.nio.file.Files.move(streamedTo, java.nio.file.Paths.get(rendered.path),
+                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (rendered.hash != null) {
+                outputManifest.recordHash(rendered.path, rendered.hash);
+            }
+        } catch (IOException e) {
+            rendered.writeError = e;
+            try {
+                java.nio.file.Files.deleteIfExists(streamedTo);
+            } catch (IOException ignored) {
+                // keep the original error
+            }
+        }
+    }
+
+    /**
+     * Render a template through the marker splitter: sections are collected as their markers
+     * are rendered and written by writeRenderedFile, on the calling thread in operation order.
+     * Output without markers is handed back as regular content.
+     */
+    protected void streamSplitOperationFile(RenderedFile rendered, com.samskivert.mustache.Template template,
+                                            Map<String, Object> data) {
+        Map<String, String> sections = new LinkedHashMap<>();
+        SplitMarkerWriter writer = new SplitMarkerWriter(
+            (name, section) -> sections.put(splitSectionPath(rendered.path, name), section));
+        try {
+            template.execute(data, writer);
+        } catch (Exception e) {
+            rendered.error = e;
+            return;
+        }
+        writer.close();
+
+        if (writer.hasSplit()) {
+            rendered.sections = sections;
+            rendered.splitSections = writer.getSectionCount();
+        } else {
+            rendered.content = writer.getUnsplitContent();
+        }
+    }
+
+    /**
+     * Write a rendered per-operation file and log the outcome
+     */
+    protected void writeRenderedFile(RenderedFile rendered) {
+        if (rendered.streamedTo != null) {
+            finishStreamedFile(rendered);
+        }
+        String templateContent = rendered.content;
+        if (rendered.error != null) {
+            metrics.increment(GenerationMetrics.RENDER_ERRORS);
+            LOGGER.error("Error processing template: " + rendered.templateName, rendered.error);
+            templateContent = "";
+        } else if (rendered.writeError != null) {
+            LOGGER.error("Error generating operation file: " + rendered.path, rendered.writeError);
+            return;
+        } else if (rendered.splitSections >= 0) {
+            for (Map.Entry<String, String> section : rendered.sections.entrySet()) {
+                writeFile(section.getKey(), section.getValue());
+            }
+            LOGGER.info("Split operation file: " + rendered.path + " into " + rendered.splitSections + " files");
+            return;
+        } else if (rendered.streamed) {
+            if (rendered.skippedEmpty) {
+                metrics.increment(GenerationMetrics.FILES_SKIPPED_EMPTY);
+                LOGGER.info("Skipping empty file: " + rendered.path);
+            } else if (rendered.skippedUnchanged) {
+                metrics.increment(GenerationMetrics.FILES_SKIPPED_UNCHANGED);
+                LOGGER.info("Skipping unchanged file: " + rendered.path);
+            } else {
+                metrics.increment(GenerationMetrics.FILES_WRITTEN);
+                metrics.add(GenerationMetrics.BYTES_WRITTEN, rendered.bytesWritten);
+            }
+            LOGGER.info("Generated operation file: " + rendered.path);
+            return;
+        } else if (templateContent == null) {
+            LOGGER.warn("Template not found or empty: " + rendered.templateName);
+            templateContent = "";
+        }
+
         // Write the file
         try {
-            String templateContent = processTemplate(config.templateName, templateData);
-            writeToFile(outputPath, templateContent);
-            LOGGER.info("Generated operation file: " + outputPath);
+            writeToFile(rendered.path, templateContent);
+            LOGGER.info("Generated operation file: " + rendered.path);
         } catch (Exception e) {
-            LOGGER.error("Error generating operation file: " + outputPath, e);
+            LOGGER.error("Error generating operation file: " + rendered.path, e);
         }
     }
 
     /**
-     * Process a template with the given data
+     * Process a template with the given data.
+     * Templates are compiled once per run and served from the template cache afterwards.
      */
     protected String processTemplate(String templateName, Map<String, Object> data) {
         try {
-            // Use the templating engine adapter from parent class
-            String templateContent = readTemplate(templateName);
-            if (templateContent == null || templateContent.isEmpty()) {
+            String content = renderTemplate(templateName, data);
+            if (content == null) {
                 LOGGER.warn("Template not found or empty: " + templateName);
                 return "";
             }
+            return content;
+        } catch (Exception e) {
+            LOGGER.error("Error processing template: " + templateName, e);
+            return "";
+        }
+    }
+
+    /**
+     * Render a template from the template cache.
+     * Returns null if the template does not exist or is empty.
+     */
+    protected String renderTemplate(String templateName, Map<String, Object> data) {
+        com.samskivert.mustache.Template template = resolveTemplate(templateName);
+        return template != null ? template.execute(data) : null;
+    }
+
+    /**
+     * Get the compiled template for a name, or null if the template is missing or empty
+     */
+    protected com.samskivert.mustache.Template resolveTemplate(String templateName) {
+        String templateContent = templateCache.getSource(templateName, this::readTemplate);
+        if (templateContent == null || templateContent.isEmpty()) {
+            return null;
+        }
 
-            // Use Mustache to render
-            com.samskivert.mustache.Mustache.Compiler compiler = com.samskivert.mustache.Mustache.compiler()
+        return templateCache.getTemplate(templateName, templateContent, this::compileTemplate);
+    }
+
+    /**
+     * Compile template source with the shared Mustache compiler.
+     * Partials are resolved through the template cache, so each partial is read once per run.
+     */
+    protected com.samskivert.mustache.Template compileTemplate(String templateContent) {
+        if (mustacheCompiler == null) {
+            mustacheCompiler = com.samskivert.mustache.Mustache.compiler()
+                .withCollector(accessorCollector)
                 .withLoader(name -> {
-                    String partial = readTemplate(name);
+                    String partial = templateCache.getSource(name, this::readTemplate);
                     return new java.io.StringReader(partial != null ? partial : "");
                 })
                 .defaultValue("")
                 .nullValue("");
-
-            com.samskivert.mustache.Template template = compiler.compile(templateContent);
-            return template.execute(data);
-        } catch (Exception e) {
-            LOGGER.error("Error processing template: " + templateName, e);
-            return "";
         }
+        return mustacheCompiler.compile(templateContent);
     }
 
     /**
      * Read a template file from custom dir or embedded resources
      */
     protected String readTemplate(String templateName) {
-        // Try custom template dir first
-        String customTemplateDir = getCustomTemplateDir();
-        if (customTemplateDir != null) {
-            File customTemplate = new File(customTemplateDir, templateName);
-            if (customTemplate.exists()) {
-                try {
-                    return new String(java.nio.file.Files.readAllBytes(customTemplate.toPath()), java.nio.charset.StandardCharsets.UTF_8);
-                } catch (IOException e) {
-                    LOGGER.warn("Error reading custom template: " + customTemplate.getPath());
-                }
-            }
-        }
-
-        // Try embedded template
         try {
-            String resourcePath = embeddedTemplateDir + "/" + templateName;
-            java.io.InputStream is = this.getClass().getClassLoader().getResourceAsStream(resourcePath);
-            if (is != null) {
-                return new String(is.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-            }
-        } catch (Exception e) {
-            LOGGER.warn("Error reading embedded template: " + templateName);
+            return getTemplateIndex().read(templateName);
+        } catch (IOException e) {
+            LOGGER.warn("Error reading template: " + templateName);
+            return null;
         }
-
-        return null;
     }
 
     /**
      * Write content to a file, creating directories as needed.
      * Skips file creation if content is empty or whitespace-only.
+     * With background writers enabled the file is queued and written asynchronously.
      */
     protected void writeToFile(String path, String content) {
+        if (splitMarkers && SplitMarkerWriter.containsMarker(content)) {
+            writeSplitFiles(path, content);
+            return;
+        }
+        writeFile(path, content);
+    }
+
+    /**
+     * Write one file (no marker splitting)
+     */
+    protected void writeFile(String path, String content) {
         // Skip if content is empty or whitespace-only
-        if (content == null || content.trim().isEmpty()) {
+        if (isBlank(content)) {
+            metrics.increment(GenerationMetrics.FILES_SKIPPED_EMPTY);
             LOGGER.info("Skipping empty file: " + path);
             return;
         }
 
+        long start = metrics.start();
+        byte[] bytes = content.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        // The hash is recorded once the file is on disk, so a failed write is retried next run
+        OutputManifest manifest = outputManifest;
+        String hash = manifest != null ? OutputManifest.hash(bytes) : null;
+        if (manifest != null && manifest.isUnchanged(path, hash)) {
+            manifest.recordHash(path, hash);
+            metrics.increment(GenerationMetrics.FILES_SKIPPED_UNCHANGED);
+            LOGGER.info("Skipping unchanged file: " + path);
+            return;
+        }
+
+        metrics.increment(GenerationMetrics.FILES_WRITTEN);
+        metrics.add(GenerationMetrics.BYTES_WRITTEN, bytes.length);
+        if (asyncWriter != null) {
+            asyncWriter.write(java.nio.file.Paths.get(path), bytes,
+                manifest != null ? () -> manifest.recordHash(path, hash) : null);
+            metrics.record(GenerationMetrics.WRITE_TO_FILE, start);
+            return;
+        }
+
         try {
             File file = new File(path);
-            file.getParentFile().mkdirs();
-            java.nio.file.Files.write(file.toPath(), content.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            if (createdDirectories.add(file.getParent())) {
+                file.getParentFile().mkdirs();
+            }
+            java.nio.file.Files.write(file.toPath(), bytes);
+            if (manifest != null) {
+                manifest.recordHash(path, hash);
+            }
         } catch (IOException e) {
             LOGGER.error("Error writing file: " + path, e);
         }
+        metrics.record(GenerationMetrics.WRITE_TO_FILE, start);
+    }
+
+    /**
+     * Write each ---SPLIT:name--- section of the content as its own file, next to path.
+     * Content without a complete marker is written to path as is.
+     */
+    protected void writeSplitFiles(String path, String content) {
+        SplitMarkerWriter writer = new SplitMarkerWriter((name, section) -> writeFile(splitSectionPath(path, name), section));
+        try {
+            writer.append(content);
+        } catch (IOException e) {
+            LOGGER.error("Error splitting file: " + path, e);
+            return;
+        }
+        writer.close();
+
+        if (writer.hasSplit()) {
+            LOGGER.info("Split " + path + " into " + writer.getSectionCount() + " files");
+        } else {
+            writeFile(path, content);
+        }
+    }
+
+    /**
+     * Output path of a split section: the section name in the directory of the combined file
+     */
+    protected static String splitSectionPath(String combinedPath, String name) {
+        java.nio.file.Path parent = java.nio.file.Paths.get(combinedPath).getParent();
+        return parent != null ? parent.resolve(name).toString() : name;
+    }
+
+    /**
+     * Wait for all queued background writes and report write errors.
+     * Runs before generation returns, so all files are on disk afterwards.
+     */
+    protected void flushOutput() {
+        if (asyncWriter == null) {
+            return;
+        }
+
+        for (String error : asyncWriter.close()) {
+            LOGGER.error(error);
+        }
+        LOGGER.info("Background writers wrote " + asyncWriter.getFilesWritten() + " files ("
+            + asyncWriter.getBytesWritten() + " bytes)");
+        asyncWriter = null;
     }
 
     /**
      * Post-process generated files - delete empty files.
      * This handles model/api/supporting files written by the framework.
+     *
+     * Emptiness is decided from the rendered content kept by PhpMaxTemplatingEngine, which
+     * already truncated whitespace-only renders to zero bytes, so files are never read back.
+     * Files that did not go through the engine (copied files) are checked by size only.
      */
     @Override
     public void postProcessFile(File file, String fileType) {
-        super.postProcessFile(file, fileType);
+        String rendered = phpMaxTemplatingEngine != null ? phpMaxTemplatingEngine.takeLastRender() : null;
+        if (file == null) {
+            return;
+        }
 
-        // Delete empty files (files with only whitespace)
-        if (file != null && file.exists()) {
-            try {
-                String content = new String(java.nio.file.Files.readAllBytes(file.toPath()), java.nio.charset.StandardCharsets.UTF_8);
-                if (content.trim().isEmpty()) {
-                    if (file.delete()) {
-                        LOGGER.info("Deleted empty file: " + file.getPath());
-                    }
+        // Combined files with split markers were written empty; write their sections instead
+        if (splitMarkers && SplitMarkerWriter.containsMarker(rendered)) {
+            file.delete();
+            writeSplitFiles(file.getPath(), rendered);
+            return;
+        }
+
+        // Delete empty files (files with only whitespace) before running any external post-processor
+        boolean empty = rendered != null ? isBlank(rendered) : file.length() == 0;
+        if (empty) {
+            if (file.delete()) {
+                metrics.increment(GenerationMetrics.FILES_SKIPPED_EMPTY);
+                LOGGER.info("Deleted empty file: " + file.getPath());
+            }
+            return;
+        }
+
+        long start = metrics.start();
+        if (batchPostProcessor != null) {
+            batchPostProcessor.add(file);
+        } else {
+            super.postProcessFile(file, fileType);
+        }
+        metrics.record(GenerationMetrics.POST_PROCESS_FILE, start);
+        if (metrics.isEnabled()) {
+            metrics.increment(GenerationMetrics.FILES_WRITTEN);
+            metrics.add(GenerationMetrics.BYTES_WRITTEN, file.length());
+        }
+
+        // Record the rendered content of DefaultGenerator-written files in the manifest
+        if (outputManifest != null && rendered != null) {
+            outputManifest.record(file.getPath(), rendered.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Check if content is empty or whitespace-only, without copying it (same rule as String.trim()).
+     */
+    protected static boolean isBlank(CharSequence content) {
+        if (content == null) {
+            return true;
+        }
+        for (int i = 0, length = content.length(); i < length; i++) {
+            if (content.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Report or prune orphaned files and save the manifest for the next run
+     */
+    protected void saveOutputManifest() {
+        if (outputManifest == null) {
+            return;
+        }
+
+        try {
+            if (getBooleanProperty(PRUNE_ORPHANS, false)) {
+                for (String orphan : outputManifest.pruneOrphans()) {
+                    LOGGER.info("Deleted orphaned file: " + orphan);
+                }
+            } else {
+                for (String orphan : outputManifest.getOrphans()) {
+                    LOGGER.warn("Orphaned file (no longer generated): " + orphan);
                 }
-            } catch (IOException e) {
-                LOGGER.warn("Could not check file content: " + file.getPath());
             }
+            outputManifest.save();
+            LOGGER.info("Saved " + OutputManifest.FILENAME + " with " + outputManifest.size() + " files");
+        } catch (IOException e) {
+            LOGGER.error("Error writing " + OutputManifest.FILENAME, e);
+        }
+    }
+
+    /**
+     * Run the batched post-processor on the files collected by postProcessFile
+     */
+    protected void runBatchPostProcessor() {
+        if (batchPostProcessor == null || batchPostProcessor.size() == 0) {
+            return;
+        }
+
+        long start = metrics.start();
+        int files = batchPostProcessor.size();
+        for (String error : batchPostProcessor.run()) {
+            LOGGER.error(error);
+        }
+        metrics.record(GenerationMetrics.POST_PROCESS_BATCH, start);
+        LOGGER.info("Post-processed " + files + " files in " + batchPostProcessor.getInvocations() + " calls");
+    }
+
+    @Override
+    public void postProcess() {
+        flushOutput();
+        runBatchPostProcessor();
+        saveOutputManifest();
+        LOGGER.info("Template cache: " + templateCache.getHitCount() + " hits, "
+            + templateCache.getMissCount() + " misses, " + templateCache.size() + " compiled templates");
+        writeMetricsReport();
+        if (renderPool != null) {
+            renderPool.shutdown();
+            renderPool = null;
         }
+        super.postProcess();
     }
 
     /**
-     * Enrich operation with convenience flags for templates
+     * Write the metricsReport JSON file, if requested
+     */
+    protected void writeMetricsReport() {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+
+        Map<String, Long> extraCounters = new LinkedHashMap<>();
+        extraCounters.put("templateCacheHits", templateCache.getHitCount());
+        extraCounters.put("templateCacheMisses", templateCache.getMissCount());
+        extraCounters.put("namingCacheHits", namingCache.getHitCount());
+        extraCounters.put("namingCacheMisses", namingCache.getMissCount());
+        extraCounters.put("operations", (long) routeDescriptors.size());
+        if (batchPostProcessor != null) {
+            extraCounters.put("postProcessCalls", (long) batchPostProcessor.getInvocations());
+        }
+        if (streamingGeneration) {
+            extraCounters.put("peakLiveHeapBytes", heapBudget.getPeakBytes());
+        }
+
+        String reportPath = String.valueOf(additionalProperties.get(METRICS_REPORT));
+        try {
+            metrics.writeReport(java.nio.file.Paths.get(reportPath), getName(), extraCounters);
+            LOGGER.info("Metrics report written to " + reportPath);
+        } catch (IOException e) {
+            LOGGER.error("Could not write metrics report: " + reportPath, e);
+        }
+    }
+
+    /**
+     * Enrich operation with convenience flags for templates.
+     * Parameter, HTTP method, security and response flags are computed when read, see {@link ComputedFlags}.
      */
     protected void enrichOperation(CodegenOperation op) {
         // Naming variations
         op.vendorExtensions.put("operationIdPascalCase", toModelName(op.operationId));
         op.vendorExtensions.put("operationIdCamelCase", camelize(op.operationId, true));
 
-        // Parameter presence flags
-        op.vendorExtensions.put("hasPathParams", op.pathParams != null && !op.pathParams.isEmpty());
-        op.vendorExtensions.put("hasQueryParams", op.queryParams != null && !op.queryParams.isEmpty());
-        op.vendorExtensions.put("hasHeaderParams", op.headerParams != null && !op.headerParams.isEmpty());
-        op.vendorExtensions.put("hasFormParams", op.formParams != null && !op.formParams.isEmpty());
-        op.vendorExtensions.put("hasBodyParam", op.bodyParam != null);
-
-        // HTTP method flags for templates
-        op.vendorExtensions.put("isGet", "GET".equalsIgnoreCase(op.httpMethod));
-        op.vendorExtensions.put("isPost", "POST".equalsIgnoreCase(op.httpMethod));
-        op.vendorExtensions.put("isPut", "PUT".equalsIgnoreCase(op.httpMethod));
-        op.vendorExtensions.put("isPatch", "PATCH".equalsIgnoreCase(op.httpMethod));
-        op.vendorExtensions.put("isDelete", "DELETE".equalsIgnoreCase(op.httpMethod));
-
-        // Response processing
+        ComputedFlags.install(op);
         if (op.responses != null) {
             for (CodegenResponse response : op.responses) {
-                response.vendorExtensions.put("isSuccess", response.code.startsWith("2"));
-                response.vendorExtensions.put("isError", !response.code.startsWith("2"));
-                response.vendorExtensions.put("is2xx", response.code.startsWith("2"));
-                response.vendorExtensions.put("is4xx", response.code.startsWith("4"));
-                response.vendorExtensions.put("is5xx", response.code.startsWith("5"));
+                ComputedFlags.install(response);
             }
         }
-
-        // Security scheme names for this operation
-        if (op.authMethods != null && !op.authMethods.isEmpty()) {
-            List<String> securityNames = new ArrayList<>();
-            for (CodegenSecurity auth : op.authMethods) {
-                securityNames.add(auth.name);
-            }
-            op.vendorExtensions.put("securitySchemeNames", securityNames);
-            op.vendorExtensions.put("securitySchemesString", String.join(", ", securityNames));
-        }
     }
 
     /**
-     * Enrich parameter with constraint flags for templates
+     * Enrich parameter with constraint flags for templates, computed when read
      */
     protected void enrichParameterConstraints(CodegenParameter param) {
-        // Format-based flags
-        param.vendorExtensions.put("isUrl", "url".equals(param.dataFormat) || "uri".equals(param.dataFormat));
-        param.vendorExtensions.put("isDate", "date".equals(param.dataFormat));
-        param.vendorExtensions.put("isDateTime", "date-time".equals(param.dataFormat));
-        param.vendorExtensions.put("isIpAddress", "ipv4".equals(param.dataFormat) || "ipv6".equals(param.dataFormat));
-
-        // Constraint presence flags
-        param.vendorExtensions.put("hasMinLength", param.minLength != null);
-        param.vendorExtensions.put("hasMaxLength", param.maxLength != null);
-        param.vendorExtensions.put("hasMinimum", param.minimum != null);
-        param.vendorExtensions.put("hasMaximum", param.maximum != null);
-        param.vendorExtensions.put("hasPattern", param.pattern != null && !param.pattern.isEmpty());
-        param.vendorExtensions.put("hasMinItems", param.minItems != null);
-        param.vendorExtensions.put("hasMaxItems", param.maxItems != null);
-
-        // Enum handling
-        if (param.isEnum && param.allowableValues != null) {
-            @SuppressWarnings("unchecked")
-            List<Object> enumValues = (List<Object>) param.allowableValues.get("values");
-            if (enumValues != null) {
-                param.vendorExtensions.put("enumValuesString", String.join(",",
-                    enumValues.stream().map(String::valueOf).toArray(String[]::new)));
-                param.vendorExtensions.put("enumValues", enumValues);
-            }
-        }
+        ComputedFlags.install(param);
     }
 
     // ============================================================================
@@ -1076,7 +1935,10 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         if (str == null || str.isEmpty()) {
             return str;
         }
+        return namingCache.camelize(str, lowercaseFirst, name -> camelizeUncached(name, lowercaseFirst));
+    }
 
+    private String camelizeUncached(String str, boolean lowercaseFirst) {
         String result = org.openapitools.codegen.utils.StringUtils.camelize(str);
 
         if (lowercaseFirst && result.length() > 0) {
@@ -1086,6 +1948,14 @@ public class PhpMaxGenerator extends AbstractPhpCodegen implements CodegenConfig
         return result;
     }
 
+    /**
+     * Memoized per run; the same operationId is converted for flags, file names and routes
+     */
+    @Override
+    public String toModelName(String name) {
+        return namingCache.modelName(name, super::toModelName);
+    }
+
     /**
      * Escape a reserved word
      */
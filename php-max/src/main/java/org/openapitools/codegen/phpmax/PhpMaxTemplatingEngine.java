@@ -0,0 +1,69 @@
+package org.openapitools.codegen.phpmax;
+
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.phpcommon.SplitMarkerWriter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Mustache engine used for the files DefaultGenerator writes (models, APIs, supporting files).
+ *
+ * DefaultGenerator renders a template, writes it and then calls postProcessFile on the
+ * same thread. The engine keeps the last rendered content per thread so postProcessFile
+ * can work with the rendered content instead of reading the file back from disk.
+ *
+ * Whitespace-only renders are returned as an empty string: DefaultGenerator has no hook to
+ * skip the write, so it still creates the file, but no content reaches the disk and
+ * postProcessFile (always enabled by the generator) removes it right away. With split
+ * markers enabled, renders containing ---SPLIT: markers are handled the same way and
+ * postProcessFile writes their sections from the kept content.
+ * Render times are recorded per template when metrics are enabled.
+ */
+public class PhpMaxTemplatingEngine extends MustacheEngineAdapter {
+
+    private final ThreadLocal<String> lastRender = new ThreadLocal<>();
+    private GenerationMetrics metrics = new GenerationMetrics(false);
+    private boolean splitMarkers = false;
+
+    public PhpMaxTemplatingEngine(MustacheEngineAdapter delegate) {
+        super();
+        setCompiler(delegate.getCompiler());
+    }
+
+    @Override
+    public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
+        // A render whose file was never post-processed must not be taken for this one
+        lastRender.remove();
+        long start = metrics.start();
+        String content = super.compileTemplate(executor, bundle, templateFile);
+        metrics.recordRender(templateFile, start);
+        if (PhpMaxGenerator.isBlank(content)) {
+            content = "";
+        }
+        lastRender.set(content);
+        if (splitMarkers && SplitMarkerWriter.containsMarker(content)) {
+            return "";
+        }
+        return content;
+    }
+
+    public void setMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setSplitMarkers(boolean splitMarkers) {
+        this.splitMarkers = splitMarkers;
+    }
+
+    /**
+     * Take the content of the last template rendered on this thread.
+     * Returns null if nothing was rendered since the last call (e.g. for copied files).
+     */
+    public String takeLastRender() {
+        String content = lastRender.get();
+        lastRender.remove();
+        return content;
+    }
+}
@@ -0,0 +1,92 @@
+package org.openapitools.codegen.phpmax;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenSecurity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable route projection of an operation, published as allOperations to supporting templates.
+ *
+ * Routes only need the method, path, names, security and extensions of an operation. Keeping
+ * this record instead of the CodegenOperation (parameters, responses, body models) lets the
+ * full operation be collected once its per-operation files are written. authMethods, notes and
+ * the stored vendorExtensions of the operation are kept: the spec's own x- extensions
+ * (middleware, rate limits, ...) and the generator's fields, plus the route flags
+ * operationIdPascalCase/CamelCase, securitySchemeNames/String and isGet, isPost, ... derived
+ * from the route itself. Computed flags about the rest of the operation (hasBodyParam, ...)
+ * are not evaluated.
+ */
+public final class RouteDescriptor {
+
+    private static final List<String> HTTP_METHODS = List.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    public final String operationId;
+    public final String operationIdPascalCase;
+    public final String operationIdCamelCase;
+    public final String httpMethod;
+    public final String path;
+    public final String summary;
+    public final String notes;
+    public final String tag;
+    public final boolean hasAuthMethods;
+    public final List<CodegenSecurity> authMethods;
+    public final List<String> securitySchemeNames;
+    public final Map<String, Object> vendorExtensions;
+
+    private RouteDescriptor(CodegenOperation op, String operationIdPascalCase, String operationIdCamelCase) {
+        this.operationId = op.operationId;
+        this.operationIdPascalCase = operationIdPascalCase;
+        this.operationIdCamelCase = operationIdCamelCase;
+        this.httpMethod = op.httpMethod;
+        this.path = op.path;
+        this.summary = op.summary;
+        this.notes = op.notes;
+        this.tag = op.baseName;
+
+        List<String> schemes = new ArrayList<>();
+        if (op.authMethods != null) {
+            for (CodegenSecurity auth : op.authMethods) {
+                schemes.add(auth.name);
+            }
+        }
+        this.hasAuthMethods = !schemes.isEmpty();
+        this.authMethods = op.authMethods != null ? Collections.unmodifiableList(new ArrayList<>(op.authMethods)) : Collections.emptyList();
+        this.securitySchemeNames = Collections.unmodifiableList(schemes);
+
+        // Stored extensions of the operation, then the route flags
+        Map<String, Object> extensions = op.vendorExtensions != null
+            ? new LinkedHashMap<>(ComputedFlags.storedOf(op.vendorExtensions)) : new LinkedHashMap<>();
+        for (String method : HTTP_METHODS) {
+            extensions.putIfAbsent("is" + method.charAt(0) + method.substring(1).toLowerCase(Locale.ROOT),
+                method.equalsIgnoreCase(httpMethod));
+        }
+        extensions.put("operationIdPascalCase", operationIdPascalCase);
+        extensions.put("operationIdCamelCase", operationIdCamelCase);
+        if (hasAuthMethods) {
+            extensions.put("securitySchemeNames", securitySchemeNames);
+            extensions.put("securitySchemesString", String.join(", ", securitySchemeNames));
+        }
+        this.vendorExtensions = Collections.unmodifiableMap(extensions);
+    }
+
+    /**
+     * Project an enriched operation (operationIdPascalCase/CamelCase already in its vendorExtensions)
+     */
+    public static RouteDescriptor of(CodegenOperation op) {
+        Map<String, Object> extensions = op.vendorExtensions != null ? op.vendorExtensions : Collections.emptyMap();
+        return new RouteDescriptor(op,
+            (String) extensions.get("operationIdPascalCase"),
+            (String) extensions.get("operationIdCamelCase"));
+    }
+
+    @Override
+    public String toString() {
+        return httpMethod + " " + path + " " + operationId;
+    }
+}
@@ -0,0 +1,203 @@
+package org.openapitools.codegen.phpmax;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Writer that streams rendered template output into a file as UTF-8.
+ *
+ * Output is encoded through a small buffer straight into a FileChannel, so memory use per
+ * file is constant no matter how large the file gets. Leading whitespace is held back in a
+ * look-ahead buffer and the file is only created once real content appears: whitespace-only
+ * output never reaches the disk. If the look-ahead overflows, the file is created early and
+ * deleted again on close when nothing but whitespace followed. Directories created for a
+ * file that is not kept are removed again if they stayed empty.
+ *
+ * Optionally computes the SHA-256 of the written bytes, for the output manifest.
+ */
+public class StreamingFileWriter extends Writer {
+
+    public static final int LOOKAHEAD_CHARS = 8192;
+
+    private final Path path;
+    private final boolean fsync;
+    private final MessageDigest digest;
+
+    private final StringBuilder lookahead = new StringBuilder();
+    private final java.util.List<Path> createdDirectories = new java.util.ArrayList<>();
+    private FileChannel channel;
+    private Writer out;
+    private boolean blank = true;
+    private long bytesWritten;
+    private boolean closed;
+
+    public StreamingFileWriter(Path path, boolean fsync, MessageDigest digest) {
+        this.path = path;
+        this.fsync = fsync;
+        this.digest = digest;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed: " + path);
+        }
+        if (out != null && !blank) {
+            out.write(buffer, offset, length);
+            return;
+        }
+
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (buffer[i] > ' ') {
+                blank = false;
+                if (out == null) {
+                    open();
+                }
+                out.write(buffer, offset, end - offset);
+                return;
+            }
+        }
+
+        // Whitespace only so far
+        if (out != null) {
+            out.write(buffer, offset, length);
+        } else {
+            lookahead.append(buffer, offset, length);
+            if (lookahead.length() > LOOKAHEAD_CHARS) {
+                open();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Finish the file. A whitespace-only file is not left on disk.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        lookahead.setLength(0);
+
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+            if (fsync && !blank) {
+                channel.force(true);
+            }
+        } finally {
+            channel.close();
+            if (blank) {
+                Files.deleteIfExists(path);
+                removeCreatedDirectories();
+            }
+        }
+    }
+
+    /**
+     * Close and remove whatever was written, e.g. after a rendering error.
+     */
+    public void discard() throws IOException {
+        blank = true;
+        close();
+    }
+
+    /**
+     * True if the rendered output was empty or whitespace-only (and therefore not written)
+     */
+    public boolean isBlank() {
+        return blank;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * SHA-256 of the written content, or null if no digest was requested
+     */
+    public byte[] getDigest() {
+        return digest != null ? digest.digest() : null;
+    }
+
+    private void open() throws IOException {
+        Path parent = path.getParent();
+        for (Path dir = parent; dir != null && !Files.isDirectory(dir); dir = dir.getParent()) {
+            createdDirectories.add(dir);
+        }
+
+        // Another writer may remove an empty directory it created between the two calls
+        for (int attempt = 1; ; attempt++) {
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                break;
+            } catch (java.nio.file.NoSuchFileException e) {
+                if (attempt == 3) {
+                    throw e;
+                }
+            }
+        }
+
+        out = Channels.newWriter(new java.nio.channels.WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer source) throws IOException {
+                if (digest != null) {
+                    digest.update(source.duplicate());
+                }
+                int written = 0;
+                while (source.hasRemaining()) {
+                    written += channel.write(source);
+                }
+                bytesWritten += written;
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        }, StandardCharsets.UTF_8.newEncoder(), LOOKAHEAD_CHARS);
+
+        out.write(lookahead.toString());
+        lookahead.setLength(0);
+    }
+
+    private void removeCreatedDirectories() {
+        // Deepest first; stop at the first directory that is in use
+        for (Path dir : createdDirectories) {
+            try {
+                Files.delete(dir);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Template;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-run cache of compiled Mustache templates and resolved template sources.
+ *
+ * Compiled templates are keyed by template name plus a hash of their source, so a
+ * template is compiled once per run no matter how many operations render it.
+ * Sources (root templates and partials) are resolved once per name.
+ *
+ * Lookups take no shared lock: a miss compiles under the lock of its own key only, so
+ * parallel renders of other templates are not held up. The compiled-template map is
+ * bounded; once it is over size, the least recently used entries are evicted after the
+ * insert rather than during lookups.
+ */
+public class TemplateCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    // Marker for names that could not be resolved, so misses are not retried
+    private static final String MISSING = new String("");
+
+    /**
+     * A compiled template with the tick of its last use
+     */
+    private static final class Entry {
+        final Template template;
+        volatile long lastUsed;
+
+        Entry(Template template, long lastUsed) {
+            this.template = template;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> templates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> sources = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TemplateCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public TemplateCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Resolve a template or partial source, loading it at most once per name.
+     * Returns null when the loader could not find the template.
+     */
+    public String getSource(String name, Function<String, String> loader) {
+        String source = sources.computeIfAbsent(name, key -> {
+            String loaded = loader.apply(key);
+            return loaded != null ? loaded : MISSING;
+        });
+        return source == MISSING ? null : source;
+    }
+
+    /**
+     * Get the compiled template for the given name and source, compiling it on a miss.
+     */
+    public Template getTemplate(String name, String source, Function<String, Template> compiler) {
+        String key = name + "#" + Integer.toHexString(source.hashCode());
+        Entry entry = templates.get(key);
+        if (entry == null) {
+            boolean[] compiled = new boolean[1];
+            entry = templates.computeIfAbsent(key, k -> {
+                compiled[0] = true;
+                return new Entry(compiler.apply(source), clock.incrementAndGet());
+            });
+            if (compiled[0]) {
+                misses.incrementAndGet();
+                evictIfFull();
+                return entry.template;
+            }
+        }
+
+        hits.incrementAndGet();
+        entry.lastUsed = clock.incrementAndGet();
+        return entry.template;
+    }
+
+    /**
+     * Drop the least recently used templates until the cache is back within its bound
+     */
+    private void evictIfFull() {
+        if (templates.size() <= maxEntries) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (templates.size() > maxEntries) {
+                Map.Entry<String, Entry> eldest = null;
+                for (Map.Entry<String, Entry> candidate : templates.entrySet()) {
+                    if (eldest == null || candidate.getValue().lastUsed < eldest.getValue().lastUsed) {
+                        eldest = candidate;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                templates.remove(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+}
@@ -0,0 +1,101 @@
+package org.openapitools.codegen.phpmax;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the background file writer used for generated output
+ */
+public class AsyncFileWriterTest {
+
+    private Path createOutputDir() throws IOException {
+        return Files.createTempDirectory("php-max-writer");
+    }
+
+    @Test
+    public void testFlushWaitsForAllWrites() throws IOException {
+        Path outputDir = createOutputDir();
+        AsyncFileWriter writer = new AsyncFileWriter(4, 1, false);
+
+        for (int i = 0; i < 500; i++) {
+            Path file = outputDir.resolve("dir" + (i % 7)).resolve("File" + i + ".php");
+            writer.write(file, ("<?php // " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        List<String> errors = writer.close();
+
+        assertTrue(errors.isEmpty(), "No write errors expected: " + errors);
+        assertEquals(500, writer.getFilesWritten());
+        for (int i = 0; i < 500; i++) {
+            Path file = outputDir.resolve("dir" + (i % 7)).resolve("File" + i + ".php");
+            assertEquals("<?php // " + i, Files.readString(file));
+        }
+    }
+
+    @Test
+    public void testRepeatedWritesKeepLastContent() throws IOException {
+        Path outputDir = createOutputDir();
+        AsyncFileWriter writer = new AsyncFileWriter(4, 1, false);
+        Path file = outputDir.resolve("Same.php");
+
+        for (int i = 0; i < 100; i++) {
+            writer.write(file, ("version " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        writer.close();
+
+        assertEquals("version 99", Files.readString(file));
+    }
+
+    @Test
+    public void testFileLargerThanBufferIsWritten() throws IOException {
+        Path outputDir = createOutputDir();
+        AsyncFileWriter writer = new AsyncFileWriter(1, 1, true);
+        byte[] content = new byte[3 * 1024 * 1024];
+
+        writer.write(outputDir.resolve("Large.php"), content);
+        writer.write(outputDir.resolve("Small.php"), new byte[] {'x'});
+        writer.close();
+
+        assertEquals(content.length, Files.size(outputDir.resolve("Large.php")));
+        assertEquals(1, Files.size(outputDir.resolve("Small.php")));
+    }
+
+    @Test
+    public void testWriteErrorsAreReported() throws IOException {
+        Path outputDir = createOutputDir();
+        Path blocker = outputDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+
+        AsyncFileWriter writer = new AsyncFileWriter(2, 1, false);
+        writer.write(blocker.resolve("File.php"), new byte[] {'x'});
+        List<String> errors = writer.close();
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("File.php"));
+    }
+
+    @Test
+    public void testCallbackRunsOnlyForWrittenFiles() throws IOException {
+        Path outputDir = createOutputDir();
+        Path blocker = outputDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+        List<Path> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+        AsyncFileWriter writer = new AsyncFileWriter(2, 1, false);
+        Path good = outputDir.resolve("Good.php");
+        Path bad = blocker.resolve("Bad.php");
+        writer.write(good, new byte[] {'x'}, () -> written.add(good));
+        writer.write(bad, new byte[] {'x'}, () -> written.add(bad));
+        List<String> errors = writer.flush();
+
+        assertEquals(1, errors.size());
+        assertEquals(List.of(good), written, "Callbacks must have run when flush returns, for written files only");
+        writer.close();
+    }
+}
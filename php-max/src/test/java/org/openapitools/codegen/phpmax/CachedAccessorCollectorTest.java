@@ -0,0 +1,92 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared variable accessor cache of the Mustache compiler
+ */
+public class CachedAccessorCollectorTest {
+
+    private static final String TEMPLATE =
+        "{{operation.operationId}} {{operation.httpMethod}} {{operation.path}}"
+        + "{{#operation.bodyParam}} body={{paramName}}{{/operation.bodyParam}}"
+        + "{{#operation.vendorExtensions.x-internal}} internal{{/operation.vendorExtensions.x-internal}}"
+        + "{{#operation.allParams}} [{{paramName}}{{^-last}},{{/-last}}]{{/operation.allParams}}"
+        + " {{missing}}";
+
+    private static Map<String, Object> context(String operationId) {
+        CodegenOperation op = new CodegenOperation();
+        op.operationId = operationId;
+        op.httpMethod = "POST";
+        op.path = "/pets/{id}";
+        op.bodyParam = new CodegenParameter();
+        op.bodyParam.paramName = "pet";
+        CodegenParameter id = new CodegenParameter();
+        id.paramName = "id";
+        op.allParams.add(id);
+        op.allParams.add(op.bodyParam);
+        op.vendorExtensions.put("x-internal", true);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("operation", op);
+        return context;
+    }
+
+    @Test
+    public void testRendersLikeDefaultCollector() {
+        Mustache.Compiler plain = Mustache.compiler().defaultValue("");
+        Mustache.Compiler cached = plain.withCollector(new CachedAccessorCollector());
+
+        Map<String, Object> context = context("addPet");
+        String expected = plain.compile(TEMPLATE).execute(context);
+        assertEquals("addPet POST /pets/{id} body=pet internal [id,] [pet] ", expected);
+        assertEquals(expected, cached.compile(TEMPLATE).execute(context));
+    }
+
+    @Test
+    public void testAccessorsAreSharedBetweenTemplates() {
+        CachedAccessorCollector collector = new CachedAccessorCollector();
+        Mustache.Compiler compiler = Mustache.compiler().defaultValue("").withCollector(collector);
+
+        CodegenOperation op = (CodegenOperation) context("first").get("operation");
+        Mustache.VariableFetcher fetcher = collector.createFetcher(op, "path");
+        assertNotNull(fetcher);
+        assertSame(fetcher, collector.createFetcher(new CodegenOperation(), "path"), "One accessor per class and name");
+        assertNull(collector.createFetcher(op, "noSuchName"));
+        assertNull(collector.createFetcher(op, "noSuchName"), "Misses are cached too");
+
+        // Templates compiled separately (as DefaultGenerator does per file) reuse the accessors
+        compiler.compile(TEMPLATE).execute(context("first"));
+        int classes = collector.getCachedClassCount();
+        assertEquals("second POST /pets/{id} body=pet internal [id,] [pet] ",
+            compiler.compile(TEMPLATE).execute(context("second")));
+        assertEquals(classes, collector.getCachedClassCount());
+    }
+
+    @Test
+    public void testAccessorExceptionsPropagate() {
+        Mustache.Compiler compiler = Mustache.compiler().withCollector(new CachedAccessorCollector());
+        Object failing = new Object() {
+            @SuppressWarnings("unused")
+            public String getValue() {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        Exception e = assertThrows(Exception.class,
+            () -> compiler.compile("{{value}}").execute(failing));
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertEquals("boom", cause.getMessage(), "The accessor's own exception should be reported");
+    }
+}
@@ -0,0 +1,104 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.CodegenResponse;
+import org.openapitools.codegen.CodegenSecurity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the vendorExtensions flags computed on read
+ */
+public class ComputedFlagsTest {
+
+    @Test
+    public void testOperationFlags() {
+        CodegenOperation op = new CodegenOperation();
+        op.httpMethod = "post";
+        op.bodyParam = new CodegenParameter();
+        op.vendorExtensions.put("x-internal", true);
+        ComputedFlags.install(op);
+        ComputedFlags.install(op);
+
+        assertEquals(true, op.vendorExtensions.get("isPost"));
+        assertEquals(false, op.vendorExtensions.get("isGet"));
+        assertEquals(true, op.vendorExtensions.get("hasBodyParam"));
+        assertEquals(false, op.vendorExtensions.get("hasQueryParams"));
+        assertEquals(true, op.vendorExtensions.get("x-internal"));
+        assertFalse(op.vendorExtensions.containsKey("securitySchemesString"), "No auth methods, no scheme names");
+
+        CodegenSecurity auth = new CodegenSecurity();
+        auth.name = "bearer";
+        op.authMethods = List.of(auth);
+        assertEquals("bearer", op.vendorExtensions.get("securitySchemesString"), "Flags follow the operation");
+        assertEquals(List.of("bearer"), op.vendorExtensions.get("securitySchemeNames"));
+
+        // Stored values take precedence over computed ones
+        op.vendorExtensions.put("isPost", false);
+        assertEquals(false, op.vendorExtensions.get("isPost"));
+        op.vendorExtensions.remove("isPost");
+        assertEquals(true, op.vendorExtensions.get("isPost"));
+    }
+
+    @Test
+    public void testConstraintFlags() {
+        CodegenProperty prop = new CodegenProperty();
+        prop.dataFormat = "ip";
+        prop.setMinLength(3);
+        prop.isEnum = true;
+        prop.allowableValues = new HashMap<>(Map.of("values", List.of("a", "b", 1)));
+        ComputedFlags.install(prop);
+
+        assertEquals(true, prop.vendorExtensions.get("isIpAddress"));
+        assertEquals(true, prop.vendorExtensions.get("hasMinLength"));
+        assertEquals(false, prop.vendorExtensions.get("hasPattern"));
+        assertEquals("a,b,1", prop.vendorExtensions.get("enumValuesString"));
+
+        CodegenParameter param = new CodegenParameter();
+        param.dataFormat = "ip";
+        ComputedFlags.install(param);
+        assertEquals(false, param.vendorExtensions.get("isIpAddress"), "Parameters only know ipv4/ipv6");
+        assertFalse(param.vendorExtensions.containsKey("enumValues"));
+        assertNull(param.vendorExtensions.get("enumValues"));
+    }
+
+    @Test
+    public void testEntriesMatchEagerMap() {
+        CodegenResponse response = new CodegenResponse();
+        response.code = "404";
+        response.vendorExtensions.put("x-note", "missing");
+        ComputedFlags.install(response);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("x-note", "missing");
+        expected.put("isSuccess", false);
+        expected.put("isError", true);
+        expected.put("is2xx", false);
+        expected.put("is4xx", true);
+        expected.put("is5xx", false);
+        assertEquals(expected, response.vendorExtensions);
+        assertEquals(expected, new HashMap<>(response.vendorExtensions));
+        assertEquals(6, response.vendorExtensions.size());
+    }
+
+    @Test
+    public void testTemplatesReadComputedFlags() {
+        CodegenResponse response = new CodegenResponse();
+        response.code = "201";
+        ComputedFlags.install(response);
+
+        String template = "{{#vendorExtensions.isSuccess}}ok{{/vendorExtensions.isSuccess}}"
+            + "{{^vendorExtensions.is4xx}} not-4xx{{/vendorExtensions.is4xx}}";
+        assertEquals("ok not-4xx", Mustache.compiler().compile(template).execute(response));
+        assertEquals("ok not-4xx", Mustache.compiler().withCollector(new CachedAccessorCollector())
+            .compile(template).execute(response));
+    }
+}
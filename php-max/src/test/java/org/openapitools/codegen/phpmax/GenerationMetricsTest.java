@@ -0,0 +1,82 @@
+package org.openapitools.codegen.phpmax;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for phase metrics and the JSON timing report
+ */
+public class GenerationMetricsTest {
+
+    private static final String PETSHOP_SPEC = "src/test/resources/petshop-extended.yaml";
+    private static final String TEMPLATE_DIR = "src/test/resources/templates/per-operation";
+
+    @Test
+    public void testDisabledMetricsRecordNothing() {
+        GenerationMetrics metrics = new GenerationMetrics(false);
+        metrics.record(GenerationMetrics.POST_PROCESS_MODELS, metrics.start());
+        metrics.increment(GenerationMetrics.FILES_WRITTEN);
+
+        assertEquals(0, metrics.getPhaseCount(GenerationMetrics.POST_PROCESS_MODELS));
+        assertEquals(0, metrics.getCount(GenerationMetrics.FILES_WRITTEN));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReportContainsPhasesTemplatesAndCounters() {
+        GenerationMetrics metrics = new GenerationMetrics(true);
+        for (int i = 0; i < 100; i++) {
+            metrics.record(GenerationMetrics.WRITE_TO_FILE, metrics.start());
+            metrics.recordRender("controller.mustache", metrics.start());
+        }
+        metrics.add(GenerationMetrics.BYTES_WRITTEN, 1234);
+
+        Map<String, Object> report = metrics.toReport("php-max", Collections.singletonMap("templateCacheHits", 7L));
+        Map<String, Object> phases = (Map<String, Object>) report.get("phases");
+        Map<String, Object> writes = (Map<String, Object>) phases.get(GenerationMetrics.WRITE_TO_FILE);
+        Map<String, Object> templates = (Map<String, Object>) report.get("templates");
+        Map<String, Object> counters = (Map<String, Object>) report.get("counters");
+
+        assertEquals(100L, writes.get("count"));
+        assertTrue((Long) writes.get("p50Us") <= (Long) writes.get("p99Us"));
+        assertEquals(100L, ((Map<String, Object>) templates.get("controller.mustache")).get("count"));
+        assertEquals(1234L, counters.get(GenerationMetrics.BYTES_WRITTEN));
+        assertEquals(7L, counters.get("templateCacheHits"));
+    }
+
+    @Test
+    public void testGenerationWritesMetricsReport() throws IOException {
+        Path outputDir = Files.createTempDirectory("php-max-metrics");
+        Path report = outputDir.resolve("reports/metrics.json");
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("php-max")
+                .setInputSpec(PETSHOP_SPEC)
+                .setTemplateDir(TEMPLATE_DIR)
+                .setOutputDir(outputDir.resolve("out").toString())
+                .addAdditionalProperty(PhpMaxGenerator.METRICS_REPORT, report.toString());
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+
+        JsonNode json = new ObjectMapper().readTree(report.toFile());
+        assertEquals("php-max", json.get("generator").asText());
+        assertEquals(1, json.at("/phases/preprocessOpenAPI/count").asInt());
+        assertTrue(json.at("/phases/postProcessOperationsWithModels/count").asInt() > 0);
+        assertTrue(json.at("/templates/ctrl.mustache/count").asInt() > 0, "Per-operation renders should be timed");
+        assertTrue(json.at("/templates/model.mustache/count").asInt() > 0, "Model renders should be timed");
+        assertTrue(json.at("/counters/filesWritten").asLong() > 0);
+        assertTrue(json.at("/counters/bytesWritten").asLong() > 0);
+        assertTrue(json.at("/counters/filesSkippedEmpty").asLong() > 0, "Empty resource files should be counted");
+        assertTrue(json.has("totalMs"));
+    }
+}
@@ -0,0 +1,108 @@
+package org.openapitools.codegen.phpmax;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenResponse;
+import org.openapitools.codegen.phpcommon.OperationCondition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for compiled per-operation template conditions
+ */
+public class OperationConditionTest {
+
+    private static CodegenOperation operation(String httpMethod, String... responseCodes) {
+        CodegenOperation op = new CodegenOperation();
+        op.httpMethod = httpMethod;
+        for (String code : responseCodes) {
+            CodegenResponse response = new CodegenResponse();
+            response.code = code;
+            if ("default".equals(code)) {
+                response.isDefault = true;
+            } else {
+                response.is2xx = code.startsWith("2");
+                response.is4xx = code.startsWith("4");
+            }
+            op.responses.add(response);
+        }
+        return op;
+    }
+
+    private static boolean test(String condition, CodegenOperation op) {
+        return OperationCondition.compile(condition).test(op);
+    }
+
+    @Test
+    public void testEmptyConditionAlwaysMatches() {
+        CodegenOperation op = operation("GET");
+        assertSame(OperationCondition.ALWAYS, OperationCondition.compile(null));
+        assertSame(OperationCondition.ALWAYS, OperationCondition.compile("  "));
+        assertTrue(test(null, op));
+    }
+
+    @Test
+    public void testFlagsAndVendorExtensions() {
+        CodegenOperation post = operation("POST");
+        post.bodyParam = new CodegenParameter();
+        CodegenOperation internalPost = operation("POST");
+        internalPost.bodyParam = new CodegenParameter();
+        internalPost.vendorExtensions.put("x-internal", true);
+        CodegenOperation get = operation("GET");
+
+        assertTrue(test("hasBodyParam && !x-internal", post));
+        assertFalse(test("hasBodyParam && !x-internal", internalPost));
+        assertFalse(test("hasBodyParam && !x-internal", get));
+
+        assertTrue(test("isGet || isDelete", get));
+        assertTrue(test("isGet || isDelete", operation("DELETE")));
+        assertFalse(test("isGet || isDelete", post));
+
+        // Vendor extensions must be exactly Boolean.TRUE
+        get.vendorExtensions.put("x-flag", "true");
+        assertFalse(test("x-flag", get));
+    }
+
+    @Test
+    public void testPrecedenceAndGrouping() {
+        CodegenOperation get = operation("GET");
+        // && binds tighter than ||
+        assertTrue(test("isGet || isPost && hasBodyParam", get));
+        assertFalse(test("(isGet || isPost) && hasBodyParam", get));
+        assertTrue(test("!(isPost || isPut)", get));
+        assertTrue(test("!!isGet", get));
+    }
+
+    @Test
+    public void testResponseCodes() {
+        CodegenOperation op = operation("POST", "201", "422", "default");
+
+        assertTrue(test("hasResponse(201)", op));
+        assertFalse(test("hasResponse(200)", op));
+        assertTrue(test("hasResponse(2xx) && hasResponse(4xx)", op));
+        assertFalse(test("hasResponse(5xx)", op));
+        assertTrue(test("hasResponse( default )", op));
+    }
+
+    @Test
+    public void testMalformedConditionsAreRejected() {
+        for (String condition : new String[]{"isGet &&", "(isGet", "isGet isPost", "hasResponse(20)", "&& isGet", "isGet | isPost"}) {
+            assertThrows(IllegalArgumentException.class, () -> OperationCondition.compile(condition), condition);
+        }
+    }
+
+    @Test
+    public void testTemplateConfigRecompilesReassignedCondition() {
+        PhpMaxGenerator.OperationTemplateConfig config =
+            new PhpMaxGenerator.OperationTemplateConfig("request.mustache", "Request", "Request.php", "hasBodyParam");
+        OperationCondition compiled = config.getCompiledCondition();
+        assertSame(compiled, config.getCompiledCondition(), "Condition should be compiled once");
+
+        config.condition = "isGet";
+        assertTrue(config.getCompiledCondition().test(operation("GET")));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new PhpMaxGenerator.OperationTemplateConfig("request.mustache", "Request", "Request.php", "hasBodyParam &&"));
+    }
+}
@@ -0,0 +1,104 @@
+package org.openapitools.codegen.phpmax;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.info.Info;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory operation tag rewrite
+ */
+public class OperationTagTransformTest {
+
+    private static Operation operation(String operationId, String... tags) {
+        Operation operation = new Operation().operationId(operationId);
+        if (tags.length > 0) {
+            operation.setTags(new ArrayList<>(Arrays.asList(tags)));
+        }
+        return operation;
+    }
+
+    private static OpenAPI spec() {
+        Operation createPet = operation("createPet", "pets");
+        createPet.setCallbacks(Collections.singletonMap("onCreated",
+            new Callback().addPathItem("{$request.body#/callbackUrl}", new PathItem().post(operation("petCreated", "hooks")))));
+
+        return new OpenAPI()
+            .info(new Info().title("Pet Shop").version("1.0.0"))
+            .paths(new Paths()
+                .addPathItem("/pets", new PathItem()
+                    .get(operation("listPets", "pets", "public"))
+                    .post(createPet))
+                .addPathItem("/health", new PathItem().get(operation(null, "ops"))));
+    }
+
+    private static Operation get(OpenAPI openAPI, String path) {
+        return openAPI.getPaths().get(path).getGet();
+    }
+
+    private static Operation callback(OpenAPI openAPI) {
+        return openAPI.getPaths().get("/pets").getPost().getCallbacks().get("onCreated")
+            .get("{$request.body#/callbackUrl}").getPost();
+    }
+
+    @Test
+    public void testRetagByOperationId() {
+        OpenAPI openAPI = spec();
+
+        int changed = new OperationTagTransform(OperationTagTransform.MODE_OPERATION_ID, false).apply(openAPI);
+
+        assertEquals(Collections.singletonList("listPets"), get(openAPI, "/pets").getTags());
+        assertEquals(Collections.singletonList("createPet"), openAPI.getPaths().get("/pets").getPost().getTags());
+        assertEquals(Collections.singletonList("petCreated"), callback(openAPI).getTags());
+        assertEquals(Collections.singletonList("ops"), get(openAPI, "/health").getTags(),
+            "Operations without operationId keep their tags");
+        assertEquals(3, changed);
+    }
+
+    @Test
+    public void testStripTags() {
+        OpenAPI openAPI = spec();
+
+        new OperationTagTransform(OperationTagTransform.MODE_NONE, false).apply(openAPI);
+
+        assertNull(get(openAPI, "/pets").getTags());
+        assertNull(get(openAPI, "/health").getTags());
+        assertNull(callback(openAPI).getTags());
+    }
+
+    @Test
+    public void testPrefixWithTitleAndVersion() {
+        OpenAPI openAPI = spec();
+
+        new OperationTagTransform(OperationTagTransform.MODE_OPERATION_ID, true).apply(openAPI);
+        assertEquals(Collections.singletonList("Pet_Shop_1_0_0_listPets"), get(openAPI, "/pets").getTags());
+
+        OpenAPI kept = spec();
+        new OperationTagTransform(OperationTagTransform.MODE_KEEP, true).apply(kept);
+        assertEquals(Arrays.asList("Pet_Shop_1_0_0_pets", "Pet_Shop_1_0_0_public"), get(kept, "/pets").getTags());
+    }
+
+    @Test
+    public void testKeepChangesNothing() {
+        OperationTagTransform transform = new OperationTagTransform(OperationTagTransform.MODE_KEEP, false);
+        OpenAPI openAPI = spec();
+
+        assertFalse(transform.isEnabled());
+        assertEquals(0, transform.apply(openAPI));
+        assertEquals(Arrays.asList("pets", "public"), get(openAPI, "/pets").getTags());
+    }
+
+    @Test
+    public void testUnknownModeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OperationTagTransform("unique", false));
+    }
+}
@@ -0,0 +1,118 @@
+package org.openapitools.codegen.phpmax;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the content-hash manifest used to skip unchanged writes
+ */
+public class OutputManifestTest {
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String hash(String content) {
+        return OutputManifest.hash(bytes(content));
+    }
+
+    @Test
+    public void testUnchangedFileIsDetectedOnNextRun() throws IOException {
+        Path outputDir = Files.createTempDirectory("php-max-manifest");
+        String controller = outputDir.resolve("lib/Controller/FindPetsController.php").toString();
+
+        OutputManifest first = OutputManifest.load(outputDir);
+        assertFalse(first.isUnchanged(controller, hash("<?php // v1")), "New file must be written");
+        Files.createDirectories(Path.of(controller).getParent());
+        Files.write(Path.of(controller), bytes("<?php // v1"));
+        first.recordHash(controller, hash("<?php // v1"));
+        first.save();
+
+        OutputManifest second = OutputManifest.load(outputDir);
+        assertTrue(second.isUnchanged(controller, hash("<?php // v1")), "Same content should be skipped");
+
+        OutputManifest third = OutputManifest.load(outputDir);
+        assertFalse(third.isUnchanged(controller, hash("<?php // v2")), "Changed content must be written");
+    }
+
+    @Test
+    public void testDeletedFileIsRewritten() throws IOException {
+        Path outputDir = Files.createTempDirectory("php-max-manifest");
+        String model = outputDir.resolve("Model.php").toString();
+
+        OutputManifest first = OutputManifest.load(outputDir);
+        first.recordHash(model, hash("<?php"));
+        first.save();
+
+        // The file was never written (or removed by hand), so it must not be skipped
+        OutputManifest second = OutputManifest.load(outputDir);
+        assertFalse(second.isUnchanged(model, hash("<?php")));
+    }
+
+    @Test
+    public void testCheckingDoesNotRecord() throws IOException {
+        Path outputDir = Files.createTempDirectory("php-max-manifest");
+        String model = outputDir.resolve("Model.php").toString();
+
+        // A file whose write failed is only checked, never recorded, so the next run writes it
+        OutputManifest manifest = OutputManifest.load(outputDir);
+        assertFalse(manifest.isUnchanged(model, hash("<?php")));
+        assertEquals(0, manifest.size());
+    }
+
+    @Test
+    public void testPathsOutsideTheOutputDirAreNotRecorded() throws IOException {
+        Path outputDir = Files.createTempDirectory("php-max-manifest");
+        String outside = outputDir.resolve("../Outside.php").toString();
+
+        OutputManifest manifest = OutputManifest.load(outputDir);
+        manifest.recordHash(outside, hash("<?php"));
+        manifest.record(outputDir.getParent().resolve("Other.php").toString(), bytes("<?php"));
+        assertEquals(0, manifest.size());
+        assertFalse(manifest.isUnchanged(outside, hash("<?php")));
+    }
+
+    @Test
+    public void testOrphansOutsideTheOutputDirAreNotPruned() throws IOException {
+        Path parent = Files.createTempDirectory("php-max-manifest");
+        Path outputDir = Files.createDirectories(parent.resolve("out"));
+        Path outside = parent.resolve("Outside.php");
+        Files.write(outside, bytes("keep me"));
+        Files.write(outputDir.resolve(OutputManifest.FILENAME), bytes(hash("keep me") + "  ../Outside.php\n"
+            + hash("keep me") + "  " + outside + "\n"));
+
+        OutputManifest manifest = OutputManifest.load(outputDir);
+        assertEquals(2, manifest.getOrphans().size());
+        assertTrue(manifest.pruneOrphans().isEmpty());
+        assertTrue(Files.exists(outside));
+    }
+
+    @Test
+    public void testOrphansAreReportedAndPruned() throws IOException {
+        Path outputDir = Files.createTempDirectory("php-max-manifest");
+        Path kept = outputDir.resolve("Kept.php");
+        Path removed = outputDir.resolve("Removed.php");
+        Files.write(kept, bytes("kept"));
+        Files.write(removed, bytes("removed"));
+
+        OutputManifest first = OutputManifest.load(outputDir);
+        first.record(kept.toString(), bytes("kept"));
+        first.record(removed.toString(), bytes("removed"));
+        first.save();
+
+        OutputManifest second = OutputManifest.load(outputDir);
+        second.record(kept.toString(), bytes("kept"));
+        assertEquals(Collections.singletonList("Removed.php"), second.getOrphans());
+
+        assertEquals(Collections.singletonList("Removed.php"), second.pruneOrphans());
+        assertFalse(Files.exists(removed));
+        assertTrue(Files.exists(kept));
+    }
+}
@@ -0,0 +1,172 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenSecurity;
+import org.openapitools.codegen.model.OperationMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * allOperations must be published once, complete, after all tags are processed, as route descriptors
+ */
+public class PhpMaxOperationsFinalizeTest {
+
+    /**
+     * Generator that counts how often allOperations is published
+     */
+    private static class CountingGenerator extends PhpMaxGenerator {
+        final AtomicInteger publications = new AtomicInteger();
+
+        CountingGenerator() {
+            additionalProperties = new HashMap<String, Object>(additionalProperties) {
+                @Override
+                public Object put(String key, Object value) {
+                    if ("allOperations".equals(key)) {
+                        publications.incrementAndGet();
+                    }
+                    return super.put(key, value);
+                }
+            };
+        }
+    }
+
+    private static OperationsMap tag(String tag, int firstOperation, int count) {
+        List<CodegenOperation> operations = new ArrayList<>(count);
+        for (int i = firstOperation; i < firstOperation + count; i++) {
+            CodegenOperation op = new CodegenOperation();
+            op.operationId = "operation" + i;
+            op.nickname = op.operationId;
+            op.httpMethod = "GET";
+            op.path = "/" + tag + "/" + i;
+            op.baseName = tag;
+            operations.add(op);
+        }
+
+        OperationMap operationMap = new OperationMap();
+        operationMap.setOperation(operations);
+        operationMap.setClassname(tag);
+
+        OperationsMap operationsMap = new OperationsMap();
+        operationsMap.setOperation(operationMap);
+        operationsMap.setImports(new ArrayList<>());
+        return operationsMap;
+    }
+
+    private static long processTags(CountingGenerator generator, int tags, int operationsPerTag) {
+        long start = System.nanoTime();
+        for (int t = 0; t < tags; t++) {
+            generator.postProcessOperationsWithModels(tag("tag" + t, t * operationsPerTag, operationsPerTag),
+                    Collections.emptyList());
+        }
+        generator.postProcessSupportingFileData(new HashMap<>());
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    public void testAllOperationsPublishedOnceWithCompleteSet() {
+        CountingGenerator generator = new CountingGenerator();
+
+        for (int t = 0; t < 3; t++) {
+            generator.postProcessOperationsWithModels(tag("tag" + t, t * 2, 2), Collections.emptyList());
+            assertFalse(generator.additionalProperties().containsKey("allOperations"),
+                    "No partial operation list should be visible before the finalize phase");
+        }
+
+        Map<String, Object> bundle = generator.postProcessSupportingFileData(new HashMap<>());
+
+        @SuppressWarnings("unchecked")
+        List<RouteDescriptor> routes = (List<RouteDescriptor>) bundle.get("allOperations");
+        assertEquals(6, routes.size());
+        assertEquals("operation0", routes.get(0).operationId);
+        assertEquals("operation5", routes.get(5).operationId);
+        assertEquals(true, bundle.get("hasOperations"));
+        assertSame(routes, generator.additionalProperties().get("allOperations"));
+        assertThrows(UnsupportedOperationException.class, () -> routes.remove(0));
+        assertEquals(1, generator.publications.get());
+    }
+
+    @Test
+    public void testRoutesAreCompactAndOperationsReleased() {
+        CountingGenerator generator = new CountingGenerator();
+        OperationsMap operationsMap = tag("pets", 0, 1);
+        CodegenOperation op = operationsMap.getOperations().getOperation().get(0);
+        CodegenSecurity auth = new CodegenSecurity();
+        auth.name = "bearerAuth";
+        op.authMethods = List.of(auth);
+        op.summary = "List pets";
+
+        generator.postProcessOperationsWithModels(operationsMap, Collections.emptyList());
+        Map<String, Object> bundle = generator.postProcessSupportingFileData(new HashMap<>());
+
+        @SuppressWarnings("unchecked")
+        RouteDescriptor route = ((List<RouteDescriptor>) bundle.get("allOperations")).get(0);
+        assertEquals("GET", route.httpMethod);
+        assertEquals("/pets/0", route.path);
+        assertEquals("Operation0", route.operationIdPascalCase);
+        assertEquals("operation0", route.operationIdCamelCase);
+        assertEquals("List pets", route.summary);
+        assertEquals("pets", route.tag);
+        assertTrue(route.hasAuthMethods);
+        assertEquals(List.of("bearerAuth"), route.securitySchemeNames);
+        assertEquals("bearerAuth", route.vendorExtensions.get("securitySchemesString"));
+        assertEquals("Operation0", route.vendorExtensions.get("operationIdPascalCase"));
+        assertEquals(Boolean.TRUE, route.vendorExtensions.get("isGet"));
+        assertFalse(route.vendorExtensions.containsKey("hasBodyParam"),
+                "Flags about the rest of the operation should not be evaluated for routes");
+
+        assertTrue(generator.allOperationsMap.isEmpty(), "Full operations should not be kept after the finalize phase");
+    }
+
+    @Test
+    public void testRoutesTemplateReadsOperationExtensions() {
+        CountingGenerator generator = new CountingGenerator();
+        OperationsMap operationsMap = tag("pets", 0, 1);
+        CodegenOperation op = operationsMap.getOperations().getOperation().get(0);
+        op.vendorExtensions.put("x-middleware", "throttle:60");
+        op.notes = "Lists all pets";
+        CodegenSecurity auth = new CodegenSecurity();
+        auth.name = "bearerAuth";
+        auth.type = "http";
+        op.authMethods = List.of(auth);
+
+        generator.postProcessOperationsWithModels(operationsMap, Collections.emptyList());
+        Map<String, Object> bundle = generator.postProcessSupportingFileData(new HashMap<>());
+
+        String routes = Mustache.compiler().compile(
+                "{{#allOperations}}{{httpMethod}} {{path}} {{vendorExtensions.x-middleware}}"
+                + "{{#vendorExtensions.isGet}} get{{/vendorExtensions.isGet}}"
+                + "{{#authMethods}} {{name}}:{{type}}{{/authMethods}} {{notes}}\n{{/allOperations}}")
+            .execute(bundle);
+
+        assertEquals("GET /pets/0 throttle:60 get bearerAuth:http Lists all pets\n", routes);
+    }
+
+    @Test
+    public void testScalesLinearlyWithTags() {
+        // Warm up, then compare 1k operations / 100 tags with 10k operations / 1k tags
+        processTags(new CountingGenerator(), 100, 10);
+        long small = processTags(new CountingGenerator(), 100, 10);
+
+        CountingGenerator large = new CountingGenerator();
+        long duration = processTags(large, 1000, 10);
+
+        @SuppressWarnings("unchecked")
+        List<RouteDescriptor> routes = (List<RouteDescriptor>) large.additionalProperties().get("allOperations");
+        assertEquals(10000, routes.size());
+        assertEquals(1, large.publications.get(), "allOperations should be published once, not once per tag");
+
+        // 10x the input: a linear implementation stays far below the 100x of a quadratic one
+        assertTrue(duration < Math.max(small, 1_000_000L) * 40,
+                "10k operations took " + duration / 1_000_000 + " ms vs " + small / 1_000_000 + " ms for 1k");
+    }
+}
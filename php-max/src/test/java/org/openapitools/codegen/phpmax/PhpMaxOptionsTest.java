@@ -0,0 +1,46 @@
+package org.openapitools.codegen.phpmax;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integer options must be rejected with a message naming the option
+ */
+public class PhpMaxOptionsTest {
+
+    private static IllegalArgumentException processOptsWith(String name, Object value) {
+        PhpMaxGenerator generator = new PhpMaxGenerator();
+        generator.additionalProperties().put(name, value);
+        return assertThrows(IllegalArgumentException.class, generator::processOpts);
+    }
+
+    @Test
+    public void testNonIntegerValueNamesTheOption() {
+        IllegalArgumentException e = processOptsWith(PhpMaxGenerator.RENDER_PARALLELISM, "four");
+        assertEquals("Invalid value for renderParallelism: 'four' is not an integer", e.getMessage());
+        assertTrue(e.getCause() instanceof NumberFormatException);
+    }
+
+    @Test
+    public void testParallelismAndSizesMustBePositive() {
+        assertEquals("Invalid value for renderParallelism: 0 (must be at least 1)",
+                processOptsWith(PhpMaxGenerator.RENDER_PARALLELISM, 0).getMessage());
+        assertEquals("Invalid value for modelParallelism: -2 (must be at least 1)",
+                processOptsWith(PhpMaxGenerator.MODEL_PARALLELISM, "-2").getMessage());
+        assertEquals("Invalid value for templateCacheSize: 0 (must be at least 1)",
+                processOptsWith(PhpMaxGenerator.TEMPLATE_CACHE_SIZE, 0).getMessage());
+    }
+
+    @Test
+    public void testZeroKeepsItsMeaningWhereItIsAllowed() {
+        PhpMaxGenerator generator = new PhpMaxGenerator();
+        generator.additionalProperties().put(PhpMaxGenerator.ASYNC_WRITER_THREADS, 0);
+        generator.additionalProperties().put(PhpMaxGenerator.HEAP_BUDGET_MB, "0");
+        generator.additionalProperties().put(PhpMaxGenerator.RENDER_PARALLELISM, " 4 ");
+        generator.processOpts();
+
+        assertNull(generator.asyncWriter, "0 writer threads should write inline");
+        assertEquals(4, generator.renderParallelism);
+    }
+}
@@ -0,0 +1,217 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parallel per-operation rendering must produce exactly the same files as a serial run
+ */
+public class PhpMaxParallelRenderingTest {
+
+    private static final Path OUTPUT_DIR = Path.of("target/test-generated-parallel");
+    private static final String PETSHOP_SPEC = "src/test/resources/petshop-extended.yaml";
+    private static final String TEMPLATE_DIR = "src/test/resources/templates/per-operation";
+
+    private Path generate(String name, int parallelism) throws IOException {
+        return generate(name, parallelism, false);
+    }
+
+    private Path generate(String name, int parallelism, boolean streaming) throws IOException {
+        return generate(name, parallelism, streaming, 1);
+    }
+
+    private Path generate(String name, int parallelism, boolean streaming, int modelParallelism) throws IOException {
+        Path outputDir = OUTPUT_DIR.resolve(name);
+        if (Files.exists(outputDir)) {
+            try (Stream<Path> paths = Files.walk(outputDir)) {
+                for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(p);
+                }
+            }
+        }
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("php-max")
+                .setInputSpec(PETSHOP_SPEC)
+                .setTemplateDir(TEMPLATE_DIR)
+                .setOutputDir(outputDir.toString())
+                .addAdditionalProperty("apiPackage", "PetshopApi")
+                .addAdditionalProperty(PhpMaxGenerator.RENDER_PARALLELISM, parallelism)
+                .addAdditionalProperty(PhpMaxGenerator.STREAMING_RENDER, streaming)
+                .addAdditionalProperty(PhpMaxGenerator.MODEL_PARALLELISM, modelParallelism);
+
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+        return outputDir;
+    }
+
+    private List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(directory::relativize)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testParallelOutputMatchesSerialOutput() throws IOException {
+        Path serial = generate("serial", 1);
+        Path parallel = generate("parallel", 8);
+
+        List<Path> serialFiles = listFiles(serial);
+        assertTrue(serialFiles.contains(Path.of("lib/Http/Controllers/FindPetsController.php")),
+                "Per-operation files should be generated");
+        assertEquals(serialFiles, listFiles(parallel), "Parallel run should generate the same files");
+
+        for (Path file : serialFiles) {
+            assertArrayEquals(Files.readAllBytes(serial.resolve(file)), Files.readAllBytes(parallel.resolve(file)),
+                    file + " should be byte-for-byte identical");
+        }
+    }
+
+    @Test
+    public void testStreamingOutputMatchesSerialOutput() throws IOException {
+        Path serial = generate("serial-reference", 1);
+        Path streamed = generate("streamed", 4, true);
+
+        List<Path> serialFiles = listFiles(serial);
+        assertEquals(serialFiles, listFiles(streamed), "Streaming run should generate the same files");
+
+        for (Path file : serialFiles) {
+            assertArrayEquals(Files.readAllBytes(serial.resolve(file)), Files.readAllBytes(streamed.resolve(file)),
+                    file + " should be byte-for-byte identical");
+        }
+    }
+
+    @Test
+    public void testParallelModelPostProcessingMatchesSerialOutput() throws IOException {
+        Path serial = generate("serial-models", 1);
+        Path parallel = generate("parallel-models", 1, false, 4);
+
+        List<Path> serialFiles = listFiles(serial);
+        assertTrue(serialFiles.stream().anyMatch(file -> file.getFileName().toString().equals("NewPet.php")),
+                "Model files should be generated");
+        assertEquals(serialFiles, listFiles(parallel), "Parallel model run should generate the same files");
+
+        for (Path file : serialFiles) {
+            assertArrayEquals(Files.readAllBytes(serial.resolve(file)), Files.readAllBytes(parallel.resolve(file)),
+                    file + " should be byte-for-byte identical");
+        }
+    }
+
+    @Test
+    public void testSplitSectionsAreWrittenByTheCallingThread() throws Exception {
+        Path outputDir = Files.createTempDirectory("php-max-split");
+        try {
+            PhpMaxGenerator generator = new PhpMaxGenerator();
+            generator.splitMarkers = true;
+            PhpMaxGenerator.RenderedFile rendered = new PhpMaxGenerator.RenderedFile(
+                    outputDir.resolve("Combined.php").toString(), "split.mustache");
+            com.samskivert.mustache.Template template = Mustache.compiler()
+                    .compile("<?php // b\n---SPLIT:B.php---\n<?php // a\n---SPLIT:A.php---\n");
+
+            // Rendered on a worker like the parallel path; nothing may be written there
+            CompletableFuture.runAsync(() -> generator.streamSplitOperationFile(rendered, template, new HashMap<>())).get();
+            assertEquals(2, rendered.splitSections);
+            assertEquals(List.of(outputDir.resolve("B.php").toString(), outputDir.resolve("A.php").toString()),
+                    List.copyOf(rendered.sections.keySet()), "Sections should be kept in marker order");
+            assertTrue(listFiles(outputDir).isEmpty(), "Sections should not be written while rendering");
+
+            generator.writeRenderedFile(rendered);
+            assertEquals(List.of(Path.of("A.php"), Path.of("B.php")), listFiles(outputDir));
+            assertFalse(Files.exists(outputDir.resolve("Combined.php")));
+        } finally {
+            try (Stream<Path> paths = Files.walk(outputDir)) {
+                for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(p);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInFlightRendersAreBounded() {
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        PhpMaxGenerator generator = new PhpMaxGenerator() {
+            @Override
+            protected RenderedFile renderOperationFile(CodegenOperation op, OperationTemplateConfig config) {
+                return new RenderedFile(op.operationId, config.templateName);
+            }
+
+            @Override
+            protected void writeRenderedFile(RenderedFile rendered) {
+                written.incrementAndGet();
+            }
+
+            @Override
+            protected boolean shouldGenerateOperationFile(CodegenOperation op, OperationTemplateConfig config) {
+                // Called on the calling thread before each submission: count the renders not yet written
+                maxAhead.accumulateAndGet(submitted.getAndIncrement() - written.get(), Math::max);
+                return true;
+            }
+        };
+        generator.renderParallelism = 2;
+        generator.operationTemplateFiles.add(new PhpMaxGenerator.OperationTemplateConfig("controller.mustache", "", ".php"));
+
+        List<CodegenOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            CodegenOperation op = new CodegenOperation();
+            op.operationId = "op" + i;
+            operations.add(op);
+        }
+        generator.writeOperationFiles(operations);
+
+        assertEquals(50, written.get(), "Every render should be written");
+        assertTrue(maxAhead.get() <= 4, "At most renderParallelism * 2 renders should be in flight, was " + maxAhead.get());
+    }
+
+    @Test
+    public void testParallelStreamedRendersOfTheSamePathKeepTheLastOne() throws Exception {
+        Path outputDir = Files.createTempDirectory("php-max-same-target");
+        try {
+            PhpMaxGenerator generator = new PhpMaxGenerator();
+            generator.renderParallelism = 2;
+            String path = outputDir.resolve("Shared.php").toString();
+            PhpMaxGenerator.RenderedFile first = new PhpMaxGenerator.RenderedFile(path, "first.mustache");
+            PhpMaxGenerator.RenderedFile second = new PhpMaxGenerator.RenderedFile(path, "second.mustache");
+
+            // Both render at the same time on workers; nothing may reach the target there
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> generator.streamOperationFile(first,
+                            Mustache.compiler().compile("<?php // first\n"), new HashMap<>())),
+                    CompletableFuture.runAsync(() -> generator.streamOperationFile(second,
+                            Mustache.compiler().compile("<?php // second\n"), new HashMap<>()))).get();
+            assertFalse(Files.exists(Path.of(path)), "Streamed files should be moved into place by the calling thread");
+
+            generator.writeRenderedFile(first);
+            generator.writeRenderedFile(second);
+            assertEquals("<?php // second\n", Files.readString(Path.of(path)), "The last submission should win");
+            assertEquals(List.of(Path.of("Shared.php")), listFiles(outputDir), "No streamed file should be left behind");
+        } finally {
+            try (Stream<Path> paths = Files.walk(outputDir)) {
+                for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(p);
+                }
+            }
+        }
+    }
+}
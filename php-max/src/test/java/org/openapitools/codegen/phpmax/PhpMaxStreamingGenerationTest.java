@@ -0,0 +1,197 @@
+package org.openapitools.codegen.phpmax;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.model.OperationMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streaming generation must release the operations of each emitted tag, so the retained heap
+ * does not grow with the operation count beyond the route index
+ */
+public class PhpMaxStreamingGenerationTest {
+
+    private static final int PARAMS_PER_OPERATION = 8;
+    private static final int DESCRIPTION_LENGTH = 4000;
+
+    private static OperationsMap tag(String tag, int firstOperation, int count) {
+        List<CodegenOperation> operations = new ArrayList<>(count);
+        for (int i = firstOperation; i < firstOperation + count; i++) {
+            CodegenOperation op = new CodegenOperation();
+            op.operationId = "operation" + i;
+            op.nickname = op.operationId;
+            op.httpMethod = "POST";
+            op.path = "/" + tag + "/" + i;
+            op.baseName = tag;
+            // Distinct parameter descriptions stand in for the parameter, response and model graph
+            for (int p = 0; p < PARAMS_PER_OPERATION; p++) {
+                CodegenParameter param = new CodegenParameter();
+                param.paramName = "param" + p;
+                param.description = String.valueOf(i).repeat(DESCRIPTION_LENGTH / String.valueOf(i).length());
+                op.allParams.add(param);
+            }
+            operations.add(op);
+        }
+
+        OperationMap operationMap = new OperationMap();
+        operationMap.setOperation(operations);
+        operationMap.setClassname(tag);
+
+        OperationsMap operationsMap = new OperationsMap();
+        operationsMap.setOperation(operationMap);
+        operationsMap.setImports(new ArrayList<>());
+        return operationsMap;
+    }
+
+    private static PhpMaxGenerator streamingGenerator() {
+        PhpMaxGenerator generator = new PhpMaxGenerator();
+        generator.streamingGeneration = true;
+        return generator;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Peak heap retained while processing tags of ten operations; like DefaultGenerator, the
+     * caller keeps every OperationsMap until the supporting files are written
+     */
+    private static long peakRetainedHeap(int operations) {
+        PhpMaxGenerator generator = streamingGenerator();
+        List<OperationsMap> keptByCore = new ArrayList<>();
+        long baseline = usedHeapAfterGc();
+        long peak = 0;
+
+        int tags = operations / 10;
+        for (int t = 0; t < tags; t++) {
+            OperationsMap operationsMap = tag("tag" + t, t * 10, 10);
+            keptByCore.add(operationsMap);
+            generator.postProcessOperationsWithModels(operationsMap, Collections.emptyList());
+            if (t % 100 == 99) {
+                peak = Math.max(peak, usedHeapAfterGc() - baseline);
+            }
+        }
+        generator.postProcessSupportingFileData(new HashMap<>());
+        peak = Math.max(peak, usedHeapAfterGc() - baseline);
+
+        Reference.reachabilityFence(keptByCore);
+        Reference.reachabilityFence(generator);
+        return peak;
+    }
+
+    @Test
+    public void testPeakHeapStaysFlatAsOperationsGrow() {
+        peakRetainedHeap(1000);
+        long small = peakRetainedHeap(1000);
+        long large = peakRetainedHeap(8000);
+
+        // Without streaming the 7,000 extra operations would retain at least their descriptions
+        long payload = 7000L * PARAMS_PER_OPERATION * DESCRIPTION_LENGTH;
+        assertTrue(large - small < payload / 4,
+                "Peak heap grew by " + (large - small) / 1024 + " KB for 7000 more operations (payload "
+                        + payload / 1024 + " KB)");
+    }
+
+    @Test
+    public void testEmittedTagsAreCompactedToRoutes() {
+        PhpMaxGenerator generator = streamingGenerator();
+        OperationsMap first = tag("pets", 0, 2);
+        OperationsMap second = tag("stores", 2, 2);
+
+        generator.postProcessOperationsWithModels(first, Collections.emptyList());
+        assertEquals(PARAMS_PER_OPERATION, first.getOperations().getOperation().get(0).allParams.size(),
+                "The current tag is still rendered by the core and must stay complete");
+
+        generator.postProcessOperationsWithModels(second, Collections.emptyList());
+        CodegenOperation route = first.getOperations().getOperation().get(0);
+        assertTrue(route.allParams.isEmpty(), "An emitted tag should only keep route data");
+        assertEquals("operation0", route.operationId);
+        assertEquals("/pets/0", route.path);
+        assertEquals("Operation0", route.vendorExtensions.get("operationIdPascalCase"));
+        assertEquals(PARAMS_PER_OPERATION, second.getOperations().getOperation().get(0).allParams.size());
+
+        Map<String, Object> bundle = generator.postProcessSupportingFileData(new HashMap<>());
+        assertTrue(second.getOperations().getOperation().get(0).allParams.isEmpty());
+        assertEquals(4, ((List<?>) bundle.get("allOperations")).size());
+        assertTrue(generator.allOperationsMap.isEmpty());
+    }
+
+    @Test
+    public void testHeapBudget() {
+        HeapBudget unlimited = new HeapBudget(0);
+        assertFalse(unlimited.check());
+        assertTrue(unlimited.getPeakBytes() > 0);
+
+        assertTrue(new HeapBudget(1).check(), "Any JVM uses more than 1 MB of heap");
+    }
+
+    @Test
+    public void testHeapBudgetForcesStreamingRender() {
+        PhpMaxGenerator generator = streamingGenerator();
+        generator.heapBudget = new HeapBudget(1);
+        generator.asyncWriter = new AsyncFileWriter(1, 1, false);
+
+        generator.postProcessOperationsWithModels(tag("pets", 0, 2), Collections.emptyList());
+        assertTrue(generator.streamingRender, "Above the budget, the remaining files are streamed");
+        assertNull(generator.asyncWriter, "Above the budget, the background writers are flushed and stopped");
+
+        PhpMaxGenerator unlimited = streamingGenerator();
+        unlimited.postProcessOperationsWithModels(tag("pets", 0, 2), Collections.emptyList());
+        assertFalse(unlimited.streamingRender);
+    }
+
+    /**
+     * Tags under which each per-operation file was written
+     */
+    private static Map<String, List<String>> writtenTags(boolean streaming) {
+        Map<String, List<String>> written = new LinkedHashMap<>();
+        PhpMaxGenerator generator = new PhpMaxGenerator() {
+            @Override
+            protected void writeOperationFiles(List<CodegenOperation> operations) {
+                for (CodegenOperation op : operations) {
+                    written.computeIfAbsent(op.operationId, id -> new ArrayList<>()).add(op.baseName);
+                }
+            }
+        };
+        generator.streamingGeneration = streaming;
+        generator.operationTemplateFiles.add(new PhpMaxGenerator.OperationTemplateConfig("controller.mustache", "", ".php"));
+
+        // operation1 is listed under both tags
+        generator.postProcessOperationsWithModels(tag("pets", 0, 2), Collections.emptyList());
+        generator.postProcessOperationsWithModels(tag("stores", 1, 2), Collections.emptyList());
+        Map<String, Object> bundle = generator.postProcessSupportingFileData(new HashMap<>());
+
+        @SuppressWarnings("unchecked")
+        List<RouteDescriptor> routes = (List<RouteDescriptor>) bundle.get("allOperations");
+        assertEquals(3, routes.size());
+        assertEquals("pets", routes.get(1).tag, "The descriptor should come from the first tag");
+        return written;
+    }
+
+    @Test
+    public void testOperationUnderTwoTagsKeepsTheFirstTagInBothModes() {
+        Map<String, List<String>> expected = new LinkedHashMap<>();
+        expected.put("operation0", List.of("pets"));
+        expected.put("operation1", List.of("pets"));
+        expected.put("operation2", List.of("stores"));
+
+        assertEquals(expected, writtenTags(false));
+        assertEquals(expected, writtenTags(true));
+    }
+}
@@ -0,0 +1,65 @@
+package org.openapitools.codegen.phpmax;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the rendered content handed from the engine to postProcessFile
+ */
+public class PhpMaxTemplatingEngineTest {
+
+    private static TemplatingExecutor executor(Map<String, String> templates) {
+        return new TemplatingExecutor() {
+            @Override
+            public String getFullTemplateContents(String name) {
+                return templates.get(name);
+            }
+
+            @Override
+            public Path getFullTemplatePath(String name) {
+                return Path.of(name);
+            }
+        };
+    }
+
+    @Test
+    public void testEachRenderReplacesTheLastRender() throws IOException {
+        PhpMaxTemplatingEngine engine = new PhpMaxTemplatingEngine(new MustacheEngineAdapter());
+        Map<String, String> templates = new HashMap<>();
+        templates.put("model.mustache", "<?php class {{name}} {}\n");
+        templates.put("blank.mustache", "  \n");
+        TemplatingExecutor executor = executor(templates);
+
+        // Rendered but never post-processed (dry run, or the core failed before postProcessFile)
+        engine.compileTemplate(executor, Map.of("name", "Pet"), "model.mustache");
+
+        assertEquals("", engine.compileTemplate(executor, new HashMap<>(), "blank.mustache"));
+        assertEquals("", engine.takeLastRender(), "The previous render must not be taken for this one");
+        assertNull(engine.takeLastRender(), "A render is taken once");
+    }
+
+    @Test
+    public void testPostProcessFileRemovesEmptyRender() throws IOException {
+        PhpMaxGenerator generator = new PhpMaxGenerator();
+        PhpMaxTemplatingEngine engine = (PhpMaxTemplatingEngine) generator.getTemplatingEngine();
+        engine.compileTemplate(executor(Map.of("blank.mustache", "\n")), new HashMap<>(), "blank.mustache");
+
+        File file = Files.createTempFile("php-max-empty", ".php").toFile();
+        try {
+            generator.postProcessFile(file, "model");
+            assertFalse(file.exists(), "The empty file the core created should be removed");
+        } finally {
+            file.delete();
+        }
+    }
+}
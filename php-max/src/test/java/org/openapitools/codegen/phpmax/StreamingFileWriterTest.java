@@ -0,0 +1,100 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for streaming template output into files
+ */
+public class StreamingFileWriterTest {
+
+    private Path createOutputDir() throws IOException {
+        return Files.createTempDirectory("php-max-streaming");
+    }
+
+    @Test
+    public void testContentIsWrittenUnchanged() throws IOException {
+        Path file = createOutputDir().resolve("Http/Controllers/PetController.php");
+
+        try (StreamingFileWriter writer = new StreamingFileWriter(file, false, null)) {
+            Mustache.compiler().compile("\n  <?php\nclass {{classname}} {} // ünïcode\n")
+                .execute(Collections.singletonMap("classname", "PetController"), writer);
+        }
+
+        assertEquals("\n  <?php\nclass PetController {} // ünïcode\n", Files.readString(file));
+    }
+
+    @Test
+    public void testWhitespaceOnlyOutputIsNotWritten() throws IOException {
+        Path outputDir = createOutputDir();
+        Path file = outputDir.resolve("Http/Requests/GetPetRequest.php");
+
+        StreamingFileWriter writer = new StreamingFileWriter(file, false, null);
+        writer.write("  \n\t\n");
+        writer.close();
+
+        assertTrue(writer.isBlank());
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(outputDir.resolve("Http")), "No directories should be left for skipped files");
+    }
+
+    @Test
+    public void testLongWhitespaceOutputIsRemoved() throws IOException {
+        Path file = createOutputDir().resolve("Blank.php");
+
+        StreamingFileWriter writer = new StreamingFileWriter(file, false, null);
+        for (int i = 0; i < 100; i++) {
+            writer.write(" ".repeat(1000));
+        }
+        writer.close();
+
+        assertTrue(writer.isBlank());
+        assertFalse(Files.exists(file), "A file created after the look-ahead overflowed should be deleted");
+    }
+
+    @Test
+    public void testLongWhitespacePrefixIsKept() throws IOException {
+        Path file = createOutputDir().resolve("Indented.php");
+        String prefix = " ".repeat(StreamingFileWriter.LOOKAHEAD_CHARS * 2);
+
+        try (StreamingFileWriter writer = new StreamingFileWriter(file, false, null)) {
+            writer.write(prefix);
+            writer.write("<?php");
+        }
+
+        assertEquals(prefix + "<?php", Files.readString(file));
+    }
+
+    @Test
+    public void testDigestMatchesWrittenBytes() throws IOException {
+        Path file = createOutputDir().resolve("Model.php");
+        StreamingFileWriter writer = new StreamingFileWriter(file, false, OutputManifest.newDigest());
+        writer.write("<?php\n// model\n");
+        writer.close();
+
+        byte[] expected = OutputManifest.newDigest()
+            .digest("<?php\n// model\n".getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, writer.getDigest());
+        assertEquals(15, writer.getBytesWritten());
+    }
+
+    @Test
+    public void testDiscardRemovesPartialFile() throws IOException {
+        Path file = createOutputDir().resolve("Partial.php");
+        StreamingFileWriter writer = new StreamingFileWriter(file, false, null);
+        writer.write("<?php\n");
+        writer.flush();
+        assertTrue(Files.exists(file));
+
+        writer.discard();
+        assertFalse(Files.exists(file));
+    }
+}
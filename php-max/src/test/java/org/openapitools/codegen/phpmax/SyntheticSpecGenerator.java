@@ -0,0 +1,331 @@
+package org.openapitools.codegen.phpmax;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic generator of large OpenAPI documents for scale tests and benchmarks.
+ *
+ * The same seed and settings always produce the same document, so big specs never need
+ * to be checked in. Settings cover the operation count, tag count, $ref depth of the
+ * schema graph, enum size, security schemes and the parameter mix.
+ *
+ * Each tag gets a chain of schemas nested schemaDepth levels deep (plus a shared Error
+ * schema), a string enum model and a resource with an inline enum. Operations are spread
+ * round-robin over the tags with random methods, parameters and security requirements.
+ *
+ * From Maven: mvn -Psynthetic-spec test-compile exec:java (see pom.xml), or run main with
+ * key=value arguments (seed, operations, tags, schemaDepth, enumSize, securitySchemes,
+ * maxQueryParams, headerParamRatio, bodyRatio, output).
+ */
+public class SyntheticSpecGenerator {
+
+    private static final String[] METHODS = {"get", "post", "put", "patch", "delete"};
+    private static final String[] WORDS = {
+        "active", "pending", "archived", "draft", "in-review", "approved", "rejected", "on hold",
+        "2fa", "PRIORITY_HIGH", "camelCase", "x.y.z", "ünïcode", "-1", "42"
+    };
+
+    private long seed = 42;
+    private int operations = 100;
+    private int tags = 10;
+    private int schemaDepth = 3;
+    private int enumSize = 8;
+    private int securitySchemes = 3;
+    private int maxQueryParams = 4;
+    private double headerParamRatio = 0.2;
+    private double bodyRatio = 0.5;
+
+    public SyntheticSpecGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public SyntheticSpecGenerator operations(int operations) {
+        this.operations = Math.max(1, operations);
+        return this;
+    }
+
+    public SyntheticSpecGenerator tags(int tags) {
+        this.tags = Math.max(1, tags);
+        return this;
+    }
+
+    public SyntheticSpecGenerator schemaDepth(int schemaDepth) {
+        this.schemaDepth = Math.max(1, schemaDepth);
+        return this;
+    }
+
+    public SyntheticSpecGenerator enumSize(int enumSize) {
+        this.enumSize = Math.max(1, enumSize);
+        return this;
+    }
+
+    public SyntheticSpecGenerator securitySchemes(int securitySchemes) {
+        this.securitySchemes = Math.max(0, securitySchemes);
+        return this;
+    }
+
+    /**
+     * Parameter mix: up to maxQueryParams query parameters on reads, a header parameter on
+     * headerParamRatio of the operations and a request body on bodyRatio of the writes.
+     */
+    public SyntheticSpecGenerator parameterMix(int maxQueryParams, double headerParamRatio, double bodyRatio) {
+        this.maxQueryParams = Math.max(0, maxQueryParams);
+        this.headerParamRatio = headerParamRatio;
+        this.bodyRatio = bodyRatio;
+        return this;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public int getTags() {
+        return tags;
+    }
+
+    /**
+     * Write the document as JSON, or as YAML when the file name ends with .yaml/.yml
+     */
+    public Path write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        String name = file.getFileName().toString();
+        ObjectMapper mapper = name.endsWith(".yaml") || name.endsWith(".yml")
+            ? new ObjectMapper(new YAMLFactory()) : new ObjectMapper();
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), build());
+        return file;
+    }
+
+    public Map<String, Object> build() {
+        Random random = new Random(seed);
+
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("Error", errorSchema());
+        for (int t = 0; t < tags; t++) {
+            addTagSchemas(schemas, t, random);
+        }
+
+        Map<String, Object> schemes = new LinkedHashMap<>();
+        for (int s = 0; s < securitySchemes; s++) {
+            schemes.put("scheme" + s, securityScheme(s));
+        }
+
+        Map<String, Map<String, Object>> paths = new LinkedHashMap<>();
+        for (int i = 0; i < operations; i++) {
+            int tag = i % tags;
+            String method = METHODS[random.nextInt(METHODS.length)];
+            boolean item = !"post".equals(method) && random.nextBoolean();
+            String path = "/tag" + tag + "/resource" + i + (item ? "/{resourceId}" : "");
+
+            paths.computeIfAbsent(path, p -> new LinkedHashMap<>())
+                .put(method, operation(i, tag, method, item, random));
+        }
+
+        List<Object> tagList = new ArrayList<>();
+        for (int t = 0; t < tags; t++) {
+            tagList.add(map("name", "Tag" + t, "description", "Synthetic tag " + t));
+        }
+
+        Map<String, Object> components = new LinkedHashMap<>();
+        components.put("schemas", schemas);
+        if (!schemes.isEmpty()) {
+            components.put("securitySchemes", schemes);
+        }
+
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("openapi", "3.0.3");
+        spec.put("info", map("title", "Synthetic API", "version", "1.0.0",
+            "description", "Generated with seed " + seed + ", " + operations + " operations, " + tags + " tags"));
+        spec.put("tags", tagList);
+        spec.put("paths", paths);
+        spec.put("components", components);
+        return spec;
+    }
+
+    private void addTagSchemas(Map<String, Object> schemas, int tag, Random random) {
+        String prefix = "Tag" + tag;
+
+        // Enum model
+        schemas.put(prefix + "Kind", map("type", "string", "enum", enumValues(random)));
+
+        // Nested chain: Resource -> Level1 -> ... -> Level(depth-1)
+        for (int level = schemaDepth - 1; level >= 1; level--) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("label", map("type", "string", "maxLength", 64 * level));
+            properties.put("weight", map("type", "number", "minimum", 0, "maximum", level * 10));
+            properties.put("error", ref("Error"));
+            if (level < schemaDepth - 1) {
+                properties.put("child", ref(prefix + "Level" + (level + 1)));
+                properties.put("children", map("type", "array", "items", ref(prefix + "Level" + (level + 1)), "maxItems", 20));
+            }
+            schemas.put(prefix + "Level" + level, map("type", "object", "properties", properties));
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", map("type", "integer", "format", "int64"));
+        properties.put("name", map("type", "string", "minLength", 1, "maxLength", 255));
+        properties.put("email", map("type", "string", "format", "email"));
+        properties.put("website", map("type", "string", "format", "uri"));
+        properties.put("code", map("type", "string", "pattern", "^[A-Z]{3}-[0-9]+$"));
+        properties.put("status", map("type", "string", "enum", enumValues(random)));
+        properties.put("kind", ref(prefix + "Kind"));
+        properties.put("createdAt", map("type", "string", "format", "date-time"));
+        properties.put("tags", map("type", "array", "items", map("type", "string"), "minItems", 0, "maxItems", 10));
+        if (schemaDepth > 1) {
+            properties.put("details", ref(prefix + "Level1"));
+        }
+        schemas.put(prefix + "Resource", map("type", "object", "required", List.of("id", "name"), "properties", properties));
+    }
+
+    private Map<String, Object> operation(int index, int tag, String method, boolean item, Random random) {
+        String resource = "#/components/schemas/Tag" + tag + "Resource";
+
+        Map<String, Object> operation = new LinkedHashMap<>();
+        operation.put("operationId", method + "Tag" + tag + "Resource" + index);
+        operation.put("tags", List.of("Tag" + tag));
+        operation.put("summary", method.toUpperCase() + " resource " + index);
+
+        List<Object> parameters = new ArrayList<>();
+        if (item) {
+            parameters.add(parameter("resourceId", "path", true, map("type", "integer", "format", "int64", "minimum", 1)));
+        }
+        if ("get".equals(method) && maxQueryParams > 0) {
+            int queryParams = random.nextInt(maxQueryParams + 1);
+            for (int q = 0; q < queryParams; q++) {
+                parameters.add(parameter("filter" + q, "query", false, q % 2 == 0
+                    ? map("type", "string", "maxLength", 100)
+                    : map("type", "integer", "minimum", 0, "maximum", 1000)));
+            }
+        }
+        if (random.nextDouble() < headerParamRatio) {
+            parameters.add(parameter("X-Request-Id", "header", false, map("type", "string", "format", "uuid")));
+        }
+        if (!parameters.isEmpty()) {
+            operation.put("parameters", parameters);
+        }
+
+        boolean write = "post".equals(method) || "put".equals(method) || "patch".equals(method);
+        if (write && random.nextDouble() < bodyRatio) {
+            operation.put("requestBody", map("required", true, "content", jsonContent(map("$ref", resource))));
+        }
+
+        Map<String, Object> responses = new LinkedHashMap<>();
+        if ("delete".equals(method)) {
+            responses.put("204", map("description", "Deleted"));
+        } else {
+            responses.put("post".equals(method) ? "201" : "200", map("description", "OK",
+                "content", jsonContent(item || !"get".equals(method)
+                    ? map("$ref", resource)
+                    : map("type", "array", "items", map("$ref", resource)))));
+        }
+        if (item) {
+            responses.put("404", map("description", "Not found", "content", jsonContent(ref("Error"))));
+        }
+        responses.put("422", map("description", "Validation error", "content", jsonContent(ref("Error"))));
+        operation.put("responses", responses);
+
+        if (securitySchemes > 0 && random.nextInt(4) > 0) {
+            operation.put("security", List.of(map("scheme" + random.nextInt(securitySchemes), List.of())));
+        }
+        return operation;
+    }
+
+    private List<String> enumValues(Random random) {
+        List<String> values = new ArrayList<>(enumSize);
+        for (int i = 0; i < enumSize; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            values.add(i < WORDS.length && !values.contains(word) ? word : word + "_" + i);
+        }
+        return values;
+    }
+
+    private static Map<String, Object> securityScheme(int index) {
+        switch (index % 4) {
+            case 0:
+                return map("type", "http", "scheme", "bearer", "bearerFormat", "JWT");
+            case 1:
+                return map("type", "apiKey", "in", "header", "name", "X-API-Key-" + index);
+            case 2:
+                return map("type", "apiKey", "in", "query", "name", "api_key_" + index);
+            default:
+                return map("type", "http", "scheme", "basic");
+        }
+    }
+
+    private static Map<String, Object> errorSchema() {
+        return map("type", "object", "required", List.of("message"), "properties", map(
+            "message", map("type", "string"),
+            "code", map("type", "integer", "format", "int32"),
+            "errors", map("type", "object", "additionalProperties", map("type", "array", "items", map("type", "string")))));
+    }
+
+    private static Map<String, Object> parameter(String name, String in, boolean required, Map<String, Object> schema) {
+        return map("name", name, "in", in, "required", required, "schema", schema);
+    }
+
+    private static Map<String, Object> jsonContent(Map<String, Object> schema) {
+        return map("application/json", map("schema", schema));
+    }
+
+    private static Map<String, Object> ref(String schema) {
+        return map("$ref", "#/components/schemas/" + schema);
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    /**
+     * Write a synthetic spec: key=value arguments, e.g. operations=10000 tags=1000 output=target/spec.yaml
+     */
+    public static void main(String[] args) throws IOException {
+        SyntheticSpecGenerator generator = new SyntheticSpecGenerator();
+        Path output = Paths.get("target/synthetic-spec.json");
+        int maxQueryParams = generator.maxQueryParams;
+        double headerParamRatio = generator.headerParamRatio;
+        double bodyRatio = generator.bodyRatio;
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            switch (key) {
+                case "seed": generator.seed(Long.parseLong(value)); break;
+                case "operations": generator.operations(Integer.parseInt(value)); break;
+                case "tags": generator.tags(Integer.parseInt(value)); break;
+                case "schemaDepth": generator.schemaDepth(Integer.parseInt(value)); break;
+                case "enumSize": generator.enumSize(Integer.parseInt(value)); break;
+                case "securitySchemes": generator.securitySchemes(Integer.parseInt(value)); break;
+                case "maxQueryParams": maxQueryParams = Integer.parseInt(value); break;
+                case "headerParamRatio": headerParamRatio = Double.parseDouble(value); break;
+                case "bodyRatio": bodyRatio = Double.parseDouble(value); break;
+                case "output": output = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Unknown setting: " + key);
+            }
+        }
+        generator.parameterMix(maxQueryParams, headerParamRatio, bodyRatio);
+
+        generator.write(output);
+        System.out.println("Wrote " + output + " (" + generator.operations + " operations, " + generator.tags + " tags)");
+    }
+}
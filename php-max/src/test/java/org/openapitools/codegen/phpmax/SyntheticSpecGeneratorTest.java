@@ -0,0 +1,97 @@
+package org.openapitools.codegen.phpmax;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the synthetic spec fixtures, and a generation run on one.
+ *
+ * With -Psynthetic-spec the generation test runs on the large spec written by the
+ * profile (system property phpmax.syntheticSpec) instead of a small default fixture.
+ */
+public class SyntheticSpecGeneratorTest {
+
+    private static final String TEMPLATE_DIR = "src/test/resources/templates/per-operation";
+
+    private Path createOutputDir() throws IOException {
+        return Files.createTempDirectory("php-max-synthetic");
+    }
+
+    private static int countOperations(Path spec) throws IOException {
+        String name = spec.getFileName().toString();
+        ObjectMapper mapper = name.endsWith(".yaml") || name.endsWith(".yml")
+            ? new ObjectMapper(new YAMLFactory()) : new ObjectMapper();
+
+        int operations = 0;
+        for (Iterator<JsonNode> paths = mapper.readTree(spec.toFile()).get("paths").elements(); paths.hasNext(); ) {
+            operations += paths.next().size();
+        }
+        return operations;
+    }
+
+    @Test
+    public void testSameSeedProducesSameDocument() throws IOException {
+        Path dir = createOutputDir();
+        SyntheticSpecGenerator generator = new SyntheticSpecGenerator().operations(200).tags(20).seed(7);
+
+        byte[] first = Files.readAllBytes(generator.write(dir.resolve("first.yaml")));
+        byte[] second = Files.readAllBytes(generator.write(dir.resolve("second.yaml")));
+        byte[] otherSeed = Files.readAllBytes(generator.seed(8).write(dir.resolve("other.yaml")));
+
+        assertArrayEquals(first, second, "Same seed and settings should produce identical documents");
+        assertFalse(java.util.Arrays.equals(first, otherSeed), "Another seed should produce another document");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDocumentHasConfiguredShape() throws IOException {
+        Path spec = new SyntheticSpecGenerator()
+            .operations(120).tags(12).schemaDepth(4).enumSize(6).securitySchemes(4)
+            .write(createOutputDir().resolve("spec.json"));
+
+        assertEquals(120, countOperations(spec));
+
+        Map<String, Object> document = new ObjectMapper().readValue(spec.toFile(), Map.class);
+        Map<String, Object> components = (Map<String, Object>) document.get("components");
+        Map<String, Object> schemas = (Map<String, Object>) components.get("schemas");
+        assertTrue(schemas.containsKey("Tag11Level3"), "Schema chain should be schemaDepth levels deep");
+        assertFalse(schemas.containsKey("Tag11Level4"));
+        assertEquals(6, ((java.util.List<?>) ((Map<String, Object>) schemas.get("Tag0Kind")).get("enum")).size());
+        assertEquals(4, ((Map<String, Object>) components.get("securitySchemes")).size());
+    }
+
+    @Test
+    public void testGeneratesOneControllerPerOperation() throws IOException {
+        Path outputDir = createOutputDir();
+        String configured = System.getProperty("phpmax.syntheticSpec");
+        Path spec = configured != null && !configured.isEmpty()
+            ? Paths.get(configured)
+            : new SyntheticSpecGenerator().operations(300).tags(30).write(outputDir.resolve("spec.yaml"));
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("php-max")
+                .setInputSpec(spec.toString())
+                .setTemplateDir(TEMPLATE_DIR)
+                .setOutputDir(outputDir.resolve("out").toString());
+        new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+
+        try (Stream<Path> controllers = Files.list(outputDir.resolve("out/lib/Http/Controllers"))) {
+            assertEquals(countOperations(spec), controllers.count(), "Every operation should get a controller");
+        }
+        assertTrue(Files.size(outputDir.resolve("out/routes.php")) > 0, "Routes should list all operations");
+    }
+}
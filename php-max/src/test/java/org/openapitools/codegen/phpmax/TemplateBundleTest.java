@@ -0,0 +1,82 @@
+package org.openapitools.codegen.phpmax;
+
+import org.openapitools.codegen.phpcommon.TemplateBundle;
+import org.openapitools.codegen.phpcommon.TemplateIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the build-time template bundle
+ */
+public class TemplateBundleTest {
+
+    @Test
+    public void testBundleRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("php-max-bundle");
+        Files.writeString(dir.resolve("model.mustache"), "model {{classname}} ✓");
+        Files.createDirectories(dir.resolve("partials"));
+        Files.writeString(dir.resolve("partials/header.mustache"), "header");
+        Files.writeString(dir.resolve("files.json"), "{}");
+
+        Map<String, String> templates = TemplateBundle.readDirectory(dir);
+        assertEquals(List.of("files.json", "model.mustache", "partials/header.mustache"), List.copyOf(templates.keySet()));
+
+        Path bundle = dir.resolve("out/" + TemplateBundle.FILENAME);
+        TemplateBundle.write(templates, bundle);
+        try (InputStream in = Files.newInputStream(bundle)) {
+            assertEquals(templates, TemplateBundle.read(in));
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorsAreReported() {
+        Map<String, String> templates = new LinkedHashMap<>();
+        templates.put("ok.mustache", "{{#items}}{{name}}{{/items}}");
+        templates.put("broken.mustache", "{{#items}}\n{{name}}\n");
+        templates.put("notes.txt", "{{#not a template");
+
+        List<String> errors = TemplateBundle.validate(templates);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).startsWith("broken.mustache: "), errors.get(0));
+
+        Exception e = assertThrows(IllegalStateException.class, () -> {
+            Path dir = Files.createTempDirectory("php-max-bundle");
+            Files.writeString(dir.resolve("broken.mustache"), "{{#items}}");
+            TemplateBundle.main(new String[]{dir.toString(), dir.resolve(TemplateBundle.FILENAME).toString()});
+        });
+        assertTrue(e.getMessage().contains("broken.mustache"));
+    }
+
+    @Test
+    public void testIndexLoadsEmbeddedTemplatesFromBundle() throws IOException {
+        Path root = Files.createTempDirectory("php-max-bundle-root");
+        Map<String, String> templates = new LinkedHashMap<>();
+        templates.put("api.mustache", "bundled api");
+        templates.put("nested/partial.mustache", "bundled partial");
+        TemplateBundle.write(templates, root.resolve("bundled/" + TemplateBundle.FILENAME));
+        // A stale loose file next to the bundle is not used
+        Files.writeString(root.resolve("bundled/api.mustache"), "loose api");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{root.toUri().toURL()}, null)) {
+            TemplateIndex index = TemplateIndex.build(null, "bundled", loader);
+
+            assertTrue(index.isBundled());
+            assertEquals(templates.keySet(), index.getNames());
+            assertEquals("bundled api", index.readEmbedded("api.mustache"));
+            assertEquals("bundled partial", index.readEmbedded("nested/partial.mustache"));
+            assertNull(index.readEmbedded(TemplateBundle.FILENAME));
+        }
+    }
+}
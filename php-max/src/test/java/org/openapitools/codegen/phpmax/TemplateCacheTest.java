@@ -0,0 +1,142 @@
+package org.openapitools.codegen.phpmax;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-run compiled template cache
+ */
+public class TemplateCacheTest {
+
+    @Test
+    public void testTemplateIsCompiledOnce() {
+        TemplateCache cache = new TemplateCache();
+        AtomicInteger compilations = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            Template template = cache.getTemplate("controller.mustache", "Hello {{name}}", source -> {
+                compilations.incrementAndGet();
+                return Mustache.compiler().compile(source);
+            });
+            assertEquals("Hello World", template.execute(Collections.singletonMap("name", "World")));
+        }
+
+        assertEquals(1, compilations.get(), "Template should be compiled once");
+        assertEquals(4, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testChangedSourceIsRecompiled() {
+        TemplateCache cache = new TemplateCache();
+
+        cache.getTemplate("model.mustache", "a", source -> Mustache.compiler().compile(source));
+        cache.getTemplate("model.mustache", "b", source -> Mustache.compiler().compile(source));
+
+        assertEquals(2, cache.getMissCount(), "Different source must not reuse a compiled template");
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        TemplateCache cache = new TemplateCache(2);
+
+        cache.getTemplate("a.mustache", "a", source -> Mustache.compiler().compile(source));
+        cache.getTemplate("b.mustache", "b", source -> Mustache.compiler().compile(source));
+        cache.getTemplate("c.mustache", "c", source -> Mustache.compiler().compile(source));
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTemplateIsEvicted() {
+        TemplateCache cache = new TemplateCache(2);
+        AtomicInteger compilations = new AtomicInteger();
+        Function<String, Template> compiler = source -> {
+            compilations.incrementAndGet();
+            return Mustache.compiler().compile(source);
+        };
+
+        cache.getTemplate("a.mustache", "a", compiler);
+        cache.getTemplate("b.mustache", "b", compiler);
+        cache.getTemplate("a.mustache", "a", compiler);
+        cache.getTemplate("c.mustache", "c", compiler);
+        assertEquals(3, compilations.get());
+
+        cache.getTemplate("a.mustache", "a", compiler);
+        assertEquals(3, compilations.get(), "Recently used template should be kept");
+        cache.getTemplate("b.mustache", "b", compiler);
+        assertEquals(4, compilations.get(), "Least recently used template should be evicted");
+    }
+
+    @Test
+    public void testCompilingOneTemplateDoesNotBlockOthers() throws Exception {
+        TemplateCache cache = new TemplateCache();
+        cache.getTemplate("fast.mustache", "fast", Mustache.compiler()::compile);
+        CountDownLatch compiling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Template> slow = CompletableFuture.supplyAsync(() ->
+                cache.getTemplate("slow.mustache", "slow", source -> {
+                    compiling.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Mustache.compiler().compile(source);
+                }));
+        try {
+            assertTrue(compiling.await(10, TimeUnit.SECONDS));
+            CompletableFuture<Template> fast = CompletableFuture.supplyAsync(() ->
+                    cache.getTemplate("fast.mustache", "fast", Mustache.compiler()::compile));
+            assertEquals("fast", fast.get(10, TimeUnit.SECONDS).execute(Collections.emptyMap()),
+                    "A cached template should be served while another one compiles");
+        } finally {
+            release.countDown();
+        }
+        assertEquals("slow", slow.get(10, TimeUnit.SECONDS).execute(Collections.emptyMap()));
+    }
+
+    @Test
+    public void testSourceIsResolvedOnce() {
+        TemplateCache cache = new TemplateCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("partial", cache.getSource("partial.mustache", name -> {
+                loads.incrementAndGet();
+                return "partial";
+            }));
+            assertNull(cache.getSource("missing.mustache", name -> {
+                loads.incrementAndGet();
+                return null;
+            }));
+        }
+
+        assertEquals(2, loads.get(), "Each name should be loaded once, including missing ones");
+    }
+
+    @Test
+    public void testProcessOptsStartsWithAnEmptyCache() {
+        PhpMaxGenerator generator = new PhpMaxGenerator();
+        generator.processOpts();
+        generator.templateCache.getTemplate("model.mustache", "{{name}}", Mustache.compiler()::compile);
+        TemplateCache firstRun = generator.templateCache;
+        assertEquals(1, firstRun.size());
+
+        generator.processOpts();
+        assertNotSame(firstRun, generator.templateCache, "Each run should get its own cache");
+        assertEquals(0, generator.templateCache.size());
+        assertEquals(0, generator.templateCache.getMissCount());
+    }
+}